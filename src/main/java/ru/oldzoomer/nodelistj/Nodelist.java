@@ -2,11 +2,16 @@ package ru.oldzoomer.nodelistj;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
+import ru.oldzoomer.nodelistj.connect.ConnectionTable;
 import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.index.AddressIndex;
+import ru.oldzoomer.nodelistj.index.PhoneIndex;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
 import ru.oldzoomer.nodelistj.parser.NodelistParser;
 
 /**
@@ -15,12 +20,24 @@ import ru.oldzoomer.nodelistj.parser.NodelistParser;
 public class Nodelist {
 
     private final List<NodelistEntry> nodelistRoot;
+    private volatile ConnectionTable connectionTable;
+    private volatile PhoneIndex phoneIndex;
+    private volatile AddressIndex addressIndex;
 
     /**
      * Nodelist constructor with path to nodelist
      * @param path path to nodelist
      */
     public Nodelist(Path path) {
+        this(path, NodelistCharset.DEFAULT.charset());
+    }
+
+    /**
+     * Nodelist constructor with path to nodelist and its charset
+     * @param path path to nodelist
+     * @param charset nodelist charset, e.g. IBM437 or IBM866
+     */
+    public Nodelist(Path path, Charset charset) {
         if (path == null) {
             throw new IllegalArgumentException("Path is null");
         }
@@ -30,7 +47,7 @@ public class Nodelist {
         }
 
         try (InputStream inputStream = Files.newInputStream(path)) {
-            nodelistRoot = NodelistParser.parseNodelist(inputStream);
+            nodelistRoot = NodelistParser.parseNodelist(inputStream, charset);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot read file", e);
         }
@@ -52,12 +69,21 @@ public class Nodelist {
      * @param inputStream input stream
      */
     public Nodelist(InputStream inputStream) {
+        this(inputStream, NodelistCharset.DEFAULT.charset());
+    }
+
+    /**
+     * Nodelist constructor with input stream and its charset
+     * @param inputStream input stream
+     * @param charset nodelist charset, e.g. IBM437 or IBM866
+     */
+    public Nodelist(InputStream inputStream, Charset charset) {
         if (inputStream == null) {
             throw new IllegalArgumentException("Input stream cannot be null");
         }
-        
+
         try {
-            nodelistRoot = NodelistParser.parseNodelist(inputStream);
+            nodelistRoot = NodelistParser.parseNodelist(inputStream, charset);
         } catch (IOException e) {
             throw new IllegalArgumentException("Failed to parse nodelist", e);
         }
@@ -71,4 +97,64 @@ public class Nodelist {
     public List<NodelistEntry> getNodelist() {
         return nodelistRoot;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get IP connection descriptors of the nodelist nodes.
+     * The table is built on first access and reused afterwards.
+     *
+     * @return connection table
+     */
+    public ConnectionTable getConnectionTable() {
+        ConnectionTable table = connectionTable;
+        if (table == null) {
+            synchronized (this) {
+                table = connectionTable;
+                if (table == null) {
+                    table = new ConnectionTable(nodelistRoot);
+                    connectionTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Get index of the nodelist entries by normalized phone number.
+     * The index is built on first access and reused afterwards.
+     *
+     * @return phone index; ordinals refer to {@link #getNodelist()}
+     */
+    public PhoneIndex getPhoneIndex() {
+        PhoneIndex index = phoneIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = phoneIndex;
+                if (index == null) {
+                    index = new PhoneIndex(nodelistRoot);
+                    phoneIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Get index of the nodelist entries by address, used to resolve SEEN-BY and PATH lines.
+     * The index is built on first access and reused afterwards.
+     *
+     * @return address index; ordinals refer to {@link #getNodelist()}
+     */
+    public AddressIndex getAddressIndex() {
+        AddressIndex index = addressIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = addressIndex;
+                if (index == null) {
+                    index = new AddressIndex(nodelistRoot);
+                    addressIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+}
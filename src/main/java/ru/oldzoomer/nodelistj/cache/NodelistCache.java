@@ -0,0 +1,269 @@
+package ru.oldzoomer.nodelistj.cache;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Cache of parsed nodelists for several versions, bounded by their estimated retained heap.
+ *
+ * <p>Versions are loaded on first request with the configured {@link Loader}. When requests for a
+ * version that is not cached arrive concurrently, the first one loads it and the others wait for
+ * that load instead of parsing the file again. After each load the least recently used versions
+ * are evicted until the {@linkplain #estimateRetainedBytes estimated size} of the cached nodelists
+ * fits the byte budget; a nodelist larger than the whole budget is returned but neither kept nor
+ * allowed to evict the cached ones.</p>
+ *
+ * <pre>{@code
+ * NodelistCache cache = new NodelistCache(512L << 20,
+ *         version -> new Nodelist(archive.resolve(fileName(version))));
+ * Nodelist nodelist = cache.get(new NodelistVersion(date, crc));
+ * }</pre>
+ *
+ * <p>Only the entry list is estimated; indexes a {@link Nodelist} builds on demand, such as
+ * {@link Nodelist#getPhoneIndex()}, are not accounted for. The cache is safe for concurrent use;
+ * the loader runs outside the cache lock.</p>
+ */
+public final class NodelistCache {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING = 24;
+    private static final int INTEGER = 16;
+    private static final int ENTRY = align(OBJECT_HEADER + 10 * REFERENCE);
+
+    private final long maxBytes;
+    private final Loader loader;
+    private final LinkedHashMap<NodelistVersion, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+    private long loads;
+    private long evictions;
+
+    /**
+     * Loads the nodelist of a version on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @param version requested version
+         * @return parsed nodelist
+         * @throws IOException if the nodelist cannot be read
+         */
+        Nodelist load(NodelistVersion version) throws IOException;
+    }
+
+    /**
+     * Cache counters.
+     *
+     * @param hits         requests served by a cached or already loading version
+     * @param misses       requests that had to start a load
+     * @param loads        completed loads, successful or not
+     * @param evictions    versions evicted to stay within the budget
+     * @param cachedBytes  estimated retained size of the cached nodelists
+     * @param cachedCount  number of cached nodelists
+     */
+    public record Stats(long hits, long misses, long loads, long evictions, long cachedBytes, int cachedCount) {
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxBytes budget for the estimated retained size of the cached nodelists
+     * @param loader   loader of missing versions
+     */
+    public NodelistCache(long maxBytes, Loader loader) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Byte budget cannot be negative");
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        this.maxBytes = maxBytes;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the nodelist of a version, loading it if it is not cached.
+     *
+     * @param version nodelist version
+     * @return parsed nodelist
+     * @throws IOException if the loader fails; concurrent requests waiting for the same load get the same exception
+     */
+    public Nodelist get(NodelistVersion version) throws IOException {
+        if (version == null) {
+            throw new IllegalArgumentException("Version cannot be null");
+        }
+        Slot slot;
+        boolean owner;
+        synchronized (this) {
+            slot = slots.get(version);
+            owner = slot == null;
+            if (owner) {
+                misses++;
+                slot = new Slot();
+                slots.put(version, slot);
+            } else {
+                hits++;
+            }
+        }
+        if (!owner) {
+            return await(slot.nodelist);
+        }
+
+        Nodelist nodelist;
+        try {
+            nodelist = loader.load(version);
+            if (nodelist == null) {
+                throw new IOException("Loader returned no nodelist for " + version);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            synchronized (this) {
+                loads++;
+                slots.remove(version, slot);
+            }
+            slot.nodelist.completeExceptionally(e);
+            throw e;
+        }
+
+        long size = estimateRetainedBytes(nodelist.getNodelist());
+        synchronized (this) {
+            loads++;
+            if (size > maxBytes) {
+                // keeping it would only push every other version out before evicting it too
+                slots.remove(version, slot);
+            } else if (slots.get(version) == slot) {
+                slot.size = size;
+                slot.loaded = true;
+                cachedBytes += size;
+                evict();
+            }
+        }
+        slot.nodelist.complete(nodelist);
+        return nodelist;
+    }
+
+    /**
+     * Removes a version from the cache. A load in progress still completes for its waiting requests
+     * but is not cached.
+     *
+     * @param version nodelist version
+     */
+    public synchronized void invalidate(NodelistVersion version) {
+        Slot slot = slots.remove(version);
+        if (slot != null && slot.loaded) {
+            cachedBytes -= slot.size;
+        }
+    }
+
+    /**
+     * @return snapshot of the cache counters
+     */
+    public synchronized Stats stats() {
+        int count = 0;
+        for (Slot slot : slots.values()) {
+            if (slot.loaded) {
+                count++;
+            }
+        }
+        return new Stats(hits, misses, loads, evictions, cachedBytes, count);
+    }
+
+    /**
+     * Estimates the heap retained by parsed nodelist entries, assuming compressed references and compact strings.
+     *
+     * @param entries nodelist entries
+     * @return estimated size in bytes, including the list slots
+     */
+    public static long estimateRetainedBytes(List<NodelistEntry> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        long total = ARRAY_HEADER + OBJECT_HEADER + 2L * REFERENCE;
+        for (NodelistEntry entry : entries) {
+            total += REFERENCE + ENTRY
+                    + sizeOf(entry.zone()) + sizeOf(entry.network()) + sizeOf(entry.node()) + sizeOf(entry.baudRate())
+                    + sizeOf(entry.nodeName()) + sizeOf(entry.location()) + sizeOf(entry.sysOpName())
+                    + sizeOf(entry.phone());
+            String[] flags = entry.flags();
+            if (flags != null) {
+                total += align(ARRAY_HEADER + (long) flags.length * REFERENCE);
+                for (String flag : flags) {
+                    total += sizeOf(flag);
+                }
+            }
+        }
+        return total;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<NodelistVersion, Slot>> it = slots.entrySet().iterator();
+        while (cachedBytes > maxBytes && it.hasNext()) {
+            Slot slot = it.next().getValue();
+            if (slot.loaded) {
+                it.remove();
+                cachedBytes -= slot.size;
+                evictions++;
+            }
+        }
+    }
+
+    private static Nodelist await(CompletableFuture<Nodelist> nodelist) throws IOException {
+        try {
+            return nodelist.join();
+        } catch (CompletionException e) {
+            switch (e.getCause()) {
+                case IOException io -> throw io;
+                case RuntimeException runtime -> throw runtime;
+                case Error error -> throw error;
+                default -> throw new IOException("Failed to load nodelist", e.getCause());
+            }
+        }
+    }
+
+    private static long sizeOf(Integer value) {
+        // Integer.valueOf shares the boxes of -128..127
+        return value == null || (value >= -128 && value <= 127) ? 0 : INTEGER;
+    }
+
+    private static long sizeOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING + align(ARRAY_HEADER + (long) value.length() * bytesPerChar);
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * A cached or loading version. The request that creates the slot loads it.
+     */
+    private static final class Slot {
+        private final CompletableFuture<Nodelist> nodelist = new CompletableFuture<>();
+        private boolean loaded;
+        private long size;
+    }
+}
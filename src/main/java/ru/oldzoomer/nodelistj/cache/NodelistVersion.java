@@ -0,0 +1,31 @@
+package ru.oldzoomer.nodelistj.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies a published nodelist by its date and the CRC from its header line.
+ *
+ * @param date nodelist date
+ * @param crc  CRC-16 of the nodelist text, {@code 0..65535}
+ */
+public record NodelistVersion(LocalDate date, int crc) {
+
+    /**
+     * Creates the version.
+     *
+     * @throws IllegalArgumentException if the date is {@code null} or the CRC is out of range
+     */
+    public NodelistVersion {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (crc < 0 || crc > 0xFFFF) {
+            throw new IllegalArgumentException("CRC out of range: " + crc);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return date + " (" + crc + ")";
+    }
+}
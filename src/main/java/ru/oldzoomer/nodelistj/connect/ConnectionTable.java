@@ -0,0 +1,302 @@
+package ru.oldzoomer.nodelistj.connect;
+
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Protocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed IP connection descriptors for every node of a nodelist.
+ *
+ * <p>Descriptors are derived once from the {@code INA}, {@code IBN}, {@code ITN} and {@code IFC}
+ * flags: a protocol flag without a host inherits the node's {@code INA} host, and a flag without
+ * a port gets the protocol's default port. Descriptors keep the order of the flags in the entry.</p>
+ *
+ * <p>The table is stored as parallel primitive arrays sorted by packed address, so lookups are a
+ * binary search and do not allocate:</p>
+ *
+ * <pre>{@code
+ * int slot = table.find(2, 5020, 1042);
+ * for (int i = 0; i < table.count(slot); i++) {
+ *     connect(table.protocol(slot, i), table.host(slot, i), table.port(slot, i));
+ * }
+ * }</pre>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ */
+public final class ConnectionTable {
+
+    private static final String INA_FLAG = "INA";
+    private static final Protocol[] PROTOCOLS = Protocol.values();
+
+    private final long[] keys;
+    private final int[] offsets;
+    private final byte[] protocols;
+    private final String[] hosts;
+    private final int[] ports;
+
+    /**
+     * Builds the connection table from nodelist entries.
+     * When an address occurs more than once, the first entry wins.
+     *
+     * @param entries nodelist entries
+     */
+    public ConnectionTable(List<NodelistEntry> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+
+        List<NodeDescriptors> nodes = new ArrayList<>();
+        Map<String, String> hostPool = new HashMap<>();
+        for (NodelistEntry entry : entries) {
+            NodeDescriptors descriptors = describe(entry, hostPool);
+            if (descriptors != null) {
+                nodes.add(descriptors);
+            }
+        }
+        // stable sort keeps the first occurrence of a duplicate address in front
+        nodes.sort((a, b) -> Long.compare(a.key, b.key));
+
+        int unique = 0;
+        int total = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i == 0 || nodes.get(i).key != nodes.get(i - 1).key) {
+                unique++;
+                total += nodes.get(i).size;
+            }
+        }
+
+        keys = new long[unique];
+        offsets = new int[unique + 1];
+        protocols = new byte[total];
+        hosts = new String[total];
+        ports = new int[total];
+
+        int slot = 0;
+        int pos = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            NodeDescriptors node = nodes.get(i);
+            if (i > 0 && node.key == nodes.get(i - 1).key) {
+                continue;
+            }
+            keys[slot] = node.key;
+            offsets[slot] = pos;
+            for (int d = 0; d < node.size; d++) {
+                protocols[pos] = node.protocols[d];
+                hosts[pos] = node.hosts[d];
+                ports[pos] = node.ports[d];
+                pos++;
+            }
+            slot++;
+        }
+        offsets[unique] = pos;
+    }
+
+    /**
+     * Finds the slot of a node.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return slot of the node, or {@code -1} if the node has no IP connection descriptors
+     */
+    public int find(int zone, int network, int node) {
+        if (!AddressKey.isValid(zone, network, node)) {
+            return -1;
+        }
+        return find(AddressKey.of(zone, network, node));
+    }
+
+    /**
+     * Finds the slot of a node by its packed address.
+     *
+     * @param addressKey packed address, see {@link AddressKey}
+     * @return slot of the node, or {@code -1} if the node has no IP connection descriptors
+     */
+    public int find(long addressKey) {
+        int slot = Arrays.binarySearch(keys, addressKey);
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * @param slot slot returned by {@link #find}
+     * @return number of descriptors of the node, {@code 0} for slot {@code -1}
+     */
+    public int count(int slot) {
+        return slot < 0 ? 0 : offsets[slot + 1] - offsets[slot];
+    }
+
+    /**
+     * @param slot  slot returned by {@link #find}
+     * @param index descriptor index, {@code 0 <= index < count(slot)}
+     * @return protocol of the descriptor
+     */
+    public Protocol protocol(int slot, int index) {
+        return PROTOCOLS[protocols[position(slot, index)]];
+    }
+
+    /**
+     * @param slot  slot returned by {@link #find}
+     * @param index descriptor index, {@code 0 <= index < count(slot)}
+     * @return host name or IP literal of the descriptor
+     */
+    public String host(int slot, int index) {
+        return hosts[position(slot, index)];
+    }
+
+    /**
+     * @param slot  slot returned by {@link #find}
+     * @param index descriptor index, {@code 0 <= index < count(slot)}
+     * @return TCP port of the descriptor
+     */
+    public int port(int slot, int index) {
+        return ports[position(slot, index)];
+    }
+
+    /**
+     * @return number of nodes that have at least one descriptor
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    private int position(int slot, int index) {
+        if (index < 0 || index >= count(slot)) {
+            throw new IndexOutOfBoundsException("Descriptor " + index + " of slot " + slot);
+        }
+        return offsets[slot] + index;
+    }
+
+    private static NodeDescriptors describe(NodelistEntry entry, Map<String, String> hostPool) {
+        String[] flags = entry.flags();
+        if (flags == null || flags.length == 0
+                || entry.zone() == null || entry.network() == null || entry.node() == null
+                || !AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+            return null;
+        }
+
+        String inaHost = null;
+        int protocolFlags = 0;
+        for (String flag : flags) {
+            if (flag == null) {
+                continue;
+            }
+            if (inaHost == null && flag.startsWith(INA_FLAG + ":") && flag.length() > INA_FLAG.length() + 1) {
+                inaHost = flag.substring(INA_FLAG.length() + 1);
+            } else if (Protocol.fromFlag(flagName(flag)) != null) {
+                protocolFlags++;
+            }
+        }
+        if (protocolFlags == 0) {
+            return null;
+        }
+
+        NodeDescriptors result = new NodeDescriptors(AddressKey.of(entry), protocolFlags);
+        for (String flag : flags) {
+            if (flag == null) {
+                continue;
+            }
+            Protocol protocol = Protocol.fromFlag(flagName(flag));
+            if (protocol == null) {
+                continue;
+            }
+
+            String host = null;
+            int port = protocol.defaultPort();
+            int colon = flag.indexOf(':');
+            if (colon >= 0) {
+                String value = flag.substring(colon + 1);
+                int parsedPort = parsePort(value);
+                if (parsedPort >= 0) {
+                    port = parsedPort;
+                } else {
+                    int portSeparator = hostPortSeparator(value);
+                    if (portSeparator >= 0) {
+                        parsedPort = parsePort(value.substring(portSeparator + 1));
+                        host = value.substring(0, portSeparator);
+                        if (parsedPort >= 0) {
+                            port = parsedPort;
+                        }
+                    } else if (!value.isEmpty()) {
+                        host = value;
+                    }
+                }
+            }
+
+            if (host == null || host.isEmpty()) {
+                host = inaHost;
+            }
+            if (host == null) {
+                continue;
+            }
+            result.add(protocol, hostPool.computeIfAbsent(host, h -> h), port);
+        }
+        return result.size == 0 ? null : result;
+    }
+
+    private static String flagName(String flag) {
+        int colon = flag.indexOf(':');
+        return colon < 0 ? flag : flag.substring(0, colon);
+    }
+
+    /**
+     * Returns the index of the colon separating host and port, honouring
+     * bracketed IPv6 literals, or {@code -1} if the value has no port.
+     */
+    private static int hostPortSeparator(String value) {
+        if (value.startsWith("[")) {
+            int close = value.indexOf(']');
+            return close > 0 && close + 1 < value.length() && value.charAt(close + 1) == ':' ? close + 1 : -1;
+        }
+        int colon = value.lastIndexOf(':');
+        return colon > 0 && value.indexOf(':') == colon ? colon : -1;
+    }
+
+    /**
+     * Parses a TCP port, returning {@code -1} if the value is not a valid port.
+     */
+    private static int parsePort(String value) {
+        if (value.isEmpty() || value.length() > 5) {
+            return -1;
+        }
+        int port = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            port = port * 10 + (c - '0');
+        }
+        return port > 0 && port <= 0xFFFF ? port : -1;
+    }
+
+    /**
+     * Descriptors of a single node collected while building the table.
+     */
+    private static final class NodeDescriptors {
+        private final long key;
+        private final byte[] protocols;
+        private final String[] hosts;
+        private final int[] ports;
+        private int size;
+
+        private NodeDescriptors(long key, int capacity) {
+            this.key = key;
+            this.protocols = new byte[capacity];
+            this.hosts = new String[capacity];
+            this.ports = new int[capacity];
+        }
+
+        private void add(Protocol protocol, String host, int port) {
+            protocols[size] = (byte) protocol.ordinal();
+            hosts[size] = host;
+            ports[size] = port;
+            size++;
+        }
+    }
+}
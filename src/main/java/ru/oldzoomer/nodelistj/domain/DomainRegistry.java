@@ -0,0 +1,305 @@
+package ru.oldzoomer.nodelistj.domain;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Nodelists of several Fidonet-technology networks, resolved by 5D address
+ * ({@code zone:network/node.point@domain}).
+ *
+ * <p>Every registered nodelist gets a domain number, and its addresses are packed into keys made of
+ * the domain number followed by the {@link AddressKey}. The keys of all domains live in one sorted
+ * array, so a lookup is a domain name hash lookup plus a single binary search, whatever the number
+ * of loaded networks.</p>
+ *
+ * <p>Entries are copied on registration with their low-cardinality values taken from a pool shared
+ * by all domains: zone and net numbers, baud rates, locations, flags without a value and phone
+ * placeholders such as {@code -Unpublished-}. Node numbers, system and sysop names, real phone
+ * numbers and flag values such as host names are nearly unique per entry and are kept as they are,
+ * since a pool slot for each would cost more than it saves. Every entry gets its own flag array.</p>
+ *
+ * <p>Lookups may run concurrently with each other and with {@link #register}; registrations are
+ * serialized.</p>
+ */
+public final class DomainRegistry {
+
+    /**
+     * Domain assumed for addresses written without {@code @domain}, unless another one is configured.
+     */
+    public static final String DEFAULT_DOMAIN = "fidonet";
+
+    private static final int DOMAIN_SHIFT = 48;
+    private static final int MAX_DOMAINS = 1 << 15;
+
+    private final String defaultDomain;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Integer> domainIds = new HashMap<>();
+    private Map<Object, Object> pool = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of(), new long[0], new NodelistEntry[0]);
+
+    /**
+     * Creates an empty registry resolving addresses without a domain in {@value #DEFAULT_DOMAIN}.
+     */
+    public DomainRegistry() {
+        this(DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param defaultDomain domain of addresses written without {@code @domain}
+     */
+    public DomainRegistry(String defaultDomain) {
+        this.defaultDomain = normalize(defaultDomain);
+    }
+
+    /**
+     * Registers the nodelist of a domain, replacing the one registered before.
+     *
+     * @param domain   domain name, case-insensitive
+     * @param nodelist parsed nodelist
+     */
+    public void register(String domain, Nodelist nodelist) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        register(domain, nodelist.getNodelist());
+    }
+
+    /**
+     * Registers the nodelist entries of a domain, replacing the ones registered before.
+     * When an address occurs more than once, the first entry wins.
+     *
+     * @param domain  domain name, case-insensitive
+     * @param entries parsed nodelist entries
+     */
+    public synchronized void register(String domain, List<NodelistEntry> entries) {
+        String name = normalize(domain);
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        Integer id = domainIds.get(name);
+        if (id == null && segments.size() == MAX_DOMAINS) {
+            throw new IllegalStateException("Too many domains");
+        }
+        if (id != null) {
+            // drop values only the replaced nodelist used
+            pool = new HashMap<>();
+            for (int i = 0; i < segments.size(); i++) {
+                if (i != id) {
+                    segments.get(i).entries.forEach(this::retain);
+                }
+            }
+        }
+
+        int size = entries.size();
+        long[] keys = new long[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            NodelistEntry entry = entries.get(i);
+            if (entry.zone() != null && entry.network() != null && entry.node() != null
+                    && AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+                keys[count] = AddressKey.of(entry);
+                positions[count++] = i;
+            }
+        }
+        AddressKey.sort(keys, positions, count);
+
+        // first occurrence of an address wins
+        int unique = 0;
+        List<NodelistEntry> pooledEntries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (unique > 0 && keys[unique - 1] == keys[i]) {
+                continue;
+            }
+            keys[unique++] = keys[i];
+            pooledEntries.add(pooled(entries.get(positions[i])));
+        }
+
+        Segment segment = new Segment(name, Arrays.copyOf(keys, unique), pooledEntries);
+        if (id == null) {
+            domainIds.put(name, segments.size());
+            segments.add(segment);
+        } else {
+            segments.set(id, segment);
+        }
+        publish();
+    }
+
+    /**
+     * Finds an entry by 5D address. Points are not listed in nodelists, so an address with a
+     * non-zero point is never found.
+     *
+     * @param address address such as {@code 2:5020/1042}, {@code 2:5020/1042.0@fidonet} or {@code 21:1/100@fsxnet}
+     * @return matching entry, or {@code null} if the domain or the address is not registered
+     * @throws IllegalArgumentException if the address is malformed
+     */
+    public NodelistEntry find(String address) {
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        int at = address.indexOf('@');
+        String domain = at < 0 ? defaultDomain : address.substring(at + 1);
+        String text = at < 0 ? address : address.substring(0, at);
+        int colon = text.indexOf(':');
+        int slash = text.indexOf('/', colon + 1);
+        int dot = text.indexOf('.', slash + 1);
+        if (colon < 1 || slash < 0) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        try {
+            int zone = Integer.parseInt(text, 0, colon, 10);
+            int network = Integer.parseInt(text, colon + 1, slash, 10);
+            int node = Integer.parseInt(text, slash + 1, dot < 0 ? text.length() : dot, 10);
+            int point = dot < 0 ? 0 : Integer.parseInt(text, dot + 1, text.length(), 10);
+            if (point < 0) {
+                throw new IllegalArgumentException("Invalid address: " + address);
+            }
+            return point == 0 ? find(domain, zone, network, node) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid address: " + address, e);
+        }
+    }
+
+    /**
+     * Finds an entry by domain and 3D address.
+     *
+     * @param domain  domain name, case-insensitive
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return matching entry, or {@code null} if the domain or the address is not registered
+     */
+    public NodelistEntry find(String domain, int zone, int network, int node) {
+        Snapshot current = snapshot;
+        Integer id = current.domainIds.get(normalize(domain));
+        if (id == null || !AddressKey.isValid(zone, network, node)) {
+            return null;
+        }
+        int slot = Arrays.binarySearch(current.keys, ((long) id << DOMAIN_SHIFT) | AddressKey.of(zone, network, node));
+        return slot < 0 ? null : current.entries[slot];
+    }
+
+    /**
+     * @return registered domains in registration order
+     */
+    public List<String> domains() {
+        return snapshot.domains;
+    }
+
+    /**
+     * @return number of addresses registered over all domains
+     */
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    /**
+     * @return number of distinct values shared by the registered entries
+     */
+    public synchronized int pooledValues() {
+        return pool.size();
+    }
+
+    private NodelistEntry pooled(NodelistEntry entry) {
+        String phone = entry.phone();
+        return new NodelistEntry(pooled(entry.zone()), pooled(entry.network()), entry.node(),
+                entry.keywords(), entry.nodeName(), pooled(entry.location()), entry.sysOpName(),
+                isPlaceholder(phone) ? pooled(phone) : phone, pooled(entry.baudRate()), pooled(entry.flags()));
+    }
+
+    private void retain(NodelistEntry entry) {
+        for (Object value : new Object[]{entry.zone(), entry.network(), entry.location(),
+                isPlaceholder(entry.phone()) ? entry.phone() : null, entry.baudRate()}) {
+            if (value != null) {
+                pool.putIfAbsent(value, value);
+            }
+        }
+        if (entry.flags() != null) {
+            for (String flag : entry.flags()) {
+                if (isPlain(flag)) {
+                    pool.putIfAbsent(flag, flag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flags without a value repeat across entries; values such as host names are mostly unique.
+     */
+    private static boolean isPlain(String flag) {
+        return flag != null && flag.indexOf(':') < 0;
+    }
+
+    private static boolean isPlaceholder(String phone) {
+        return phone != null && phone.startsWith("-");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T pooled(T value) {
+        return value == null ? null : (T) pool.computeIfAbsent(value, v -> v);
+    }
+
+    private String[] pooled(String[] flags) {
+        if (flags == null) {
+            return null;
+        }
+        String[] copy = new String[flags.length];
+        for (int i = 0; i < flags.length; i++) {
+            copy[i] = isPlain(flags[i]) ? pooled(flags[i]) : flags[i];
+        }
+        return copy;
+    }
+
+    private void publish() {
+        int total = 0;
+        for (Segment segment : segments) {
+            total += segment.keys.length;
+        }
+        // domain numbers are the high key bits, so concatenating the segments in domain order keeps
+        // the keys sorted
+        long[] keys = new long[total];
+        NodelistEntry[] entries = new NodelistEntry[total];
+        List<String> domains = new ArrayList<>(segments.size());
+        int offset = 0;
+        for (int id = 0; id < segments.size(); id++) {
+            Segment segment = segments.get(id);
+            for (int i = 0; i < segment.keys.length; i++) {
+                keys[offset + i] = ((long) id << DOMAIN_SHIFT) | segment.keys[i];
+            }
+            for (int i = 0; i < segment.keys.length; i++) {
+                entries[offset + i] = segment.entries.get(i);
+            }
+            offset += segment.keys.length;
+            domains.add(segment.domain);
+        }
+        snapshot = new Snapshot(Map.copyOf(domainIds), List.copyOf(domains), keys, entries);
+    }
+
+    private static String normalize(String domain) {
+        if (domain == null) {
+            throw new IllegalArgumentException("Domain cannot be null");
+        }
+        String name = domain.trim().toLowerCase(Locale.ROOT);
+        if (name.isEmpty() || name.indexOf('@') >= 0) {
+            throw new IllegalArgumentException("Invalid domain: " + domain);
+        }
+        return name;
+    }
+
+    private record Segment(String domain, long[] keys, List<NodelistEntry> entries) {
+    }
+
+    private record Snapshot(Map<String, Integer> domainIds, List<String> domains, long[] keys,
+                            NodelistEntry[] entries) {
+    }
+}
@@ -0,0 +1,137 @@
+package ru.oldzoomer.nodelistj.entries;
+
+/**
+ * Packs a 3D Fidonet address ({@code zone:network/node}) into a single {@code long}.
+ *
+ * <p>Each component occupies 16 bits, so packed keys sort in the same order as the
+ * addresses they represent and can be used directly in primitive sorted arrays.</p>
+ */
+public final class AddressKey {
+
+    private static final int COMPONENT_BITS = 16;
+    private static final long COMPONENT_MASK = 0xFFFFL;
+
+    private AddressKey() {
+    }
+
+    /**
+     * Packs the address components into a key.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return packed address key
+     * @throws IllegalArgumentException if a component is outside {@code 0..65535}
+     */
+    public static long of(int zone, int network, int node) {
+        if (!isValid(zone, network, node)) {
+            throw new IllegalArgumentException(
+                    "Address out of range: " + zone + ":" + network + "/" + node);
+        }
+        return ((long) zone << (2 * COMPONENT_BITS)) | ((long) network << COMPONENT_BITS) | node;
+    }
+
+    /**
+     * Checks whether the address components fit into a packed key.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return {@code true} if every component is within {@code 0..65535}
+     */
+    public static boolean isValid(int zone, int network, int node) {
+        return (zone | network | node) >= 0 && zone <= COMPONENT_MASK
+                && network <= COMPONENT_MASK && node <= COMPONENT_MASK;
+    }
+
+    /**
+     * Packs the address of a nodelist entry.
+     *
+     * @param entry nodelist entry
+     * @return packed address key
+     */
+    public static long of(NodelistEntry entry) {
+        return of(entry.zone(), entry.network(), entry.node());
+    }
+
+    /**
+     * @param key packed address key
+     * @return zone number
+     */
+    public static int zone(long key) {
+        return (int) (key >>> (2 * COMPONENT_BITS));
+    }
+
+    /**
+     * @param key packed address key
+     * @return network number
+     */
+    public static int network(long key) {
+        return (int) ((key >>> COMPONENT_BITS) & COMPONENT_MASK);
+    }
+
+    /**
+     * @param key packed address key
+     * @return node number
+     */
+    public static int node(long key) {
+        return (int) (key & COMPONENT_MASK);
+    }
+
+    /**
+     * Formats a packed key as {@code zone:network/node}.
+     *
+     * @param key packed address key
+     * @return textual address
+     */
+    public static String toString(long key) {
+        return zone(key) + ":" + network(key) + "/" + node(key);
+    }
+
+    /**
+     * Sorts packed keys in ascending order, moving the attached values along with them.
+     * The sort is stable, so values attached to equal keys keep their relative order.
+     *
+     * @param keys   packed address keys
+     * @param values values attached to the keys, same length as {@code keys}
+     * @param length number of leading elements to sort
+     */
+    public static void sort(long[] keys, int[] values, int length) {
+        if (length < 2) {
+            return;
+        }
+        long[] keyBuffer = new long[length];
+        int[] valueBuffer = new int[length];
+        for (int width = 1; width < length; width <<= 1) {
+            for (int low = 0; low < length - width; low += width << 1) {
+                int mid = low + width;
+                int high = Math.min(low + (width << 1), length);
+                if (keys[mid - 1] <= keys[mid]) {
+                    continue;
+                }
+                int i = low;
+                int j = mid;
+                int k = 0;
+                while (i < mid && j < high) {
+                    if (keys[j] < keys[i]) {
+                        keyBuffer[k] = keys[j];
+                        valueBuffer[k++] = values[j++];
+                    } else {
+                        keyBuffer[k] = keys[i];
+                        valueBuffer[k++] = values[i++];
+                    }
+                }
+                while (i < mid) {
+                    keyBuffer[k] = keys[i];
+                    valueBuffer[k++] = values[i++];
+                }
+                while (j < high) {
+                    keyBuffer[k] = keys[j];
+                    valueBuffer[k++] = values[j++];
+                }
+                System.arraycopy(keyBuffer, 0, keys, low, k);
+                System.arraycopy(valueBuffer, 0, values, low, k);
+            }
+        }
+    }
+}
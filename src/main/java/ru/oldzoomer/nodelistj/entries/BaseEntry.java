@@ -5,7 +5,7 @@ import ru.oldzoomer.nodelistj.enums.Keywords;
 /**
  * Common sealed interface for Fidonet nodelist entries.
  */
-public sealed interface BaseEntry permits NodelistEntry {
+public sealed interface BaseEntry permits NodelistEntry, EntryView {
 
     Keywords keywords();
 
@@ -0,0 +1,44 @@
+package ru.oldzoomer.nodelistj.entries;
+
+/**
+ * Nodelist entry backed by external storage rather than by heap fields.
+ *
+ * <p>Views expose the address as primitives and decode the remaining fields on access.
+ * Use {@link #toNodelistEntry()} to obtain a detached heap copy.</p>
+ */
+public sealed interface EntryView extends BaseEntry permits OffHeapEntry {
+
+    /**
+     * Value of an address component the entry does not have.
+     */
+    int NO_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * @return zone number, or {@link #NO_VALUE}
+     */
+    int zone();
+
+    /**
+     * @return network number, or {@link #NO_VALUE}
+     */
+    int network();
+
+    /**
+     * @return node number, or {@link #NO_VALUE}
+     */
+    int node();
+
+    /**
+     * Copies the entry into a heap {@link NodelistEntry}. Missing address components become {@code null}.
+     *
+     * @return detached copy of the entry
+     */
+    default NodelistEntry toNodelistEntry() {
+        return new NodelistEntry(boxed(zone()), boxed(network()), boxed(node()), keywords(),
+                nodeName(), location(), sysOpName(), phone(), baudRate(), flags());
+    }
+
+    private static Integer boxed(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.oldzoomer.nodelistj.entries;
+
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+/**
+ * View of a single entry of an {@link OffHeapNodelist}. Every accessor
+ * reads off-heap memory through its {@link Storage}, so the view stays valid only while the owning
+ * nodelist is open. Views are created only by their nodelist.
+ */
+public final class OffHeapEntry implements EntryView {
+
+    /**
+     * Fields of a stored entry record.
+     */
+    enum Field {
+        ZONE, NETWORK, NODE, KEYWORD, BAUD_RATE, NODE_NAME, LOCATION, SYSOP_NAME, PHONE
+    }
+
+    /**
+     * Off-heap entry table the views read from, addressed by entry position.
+     */
+    interface Storage {
+
+        /**
+         * Reads an integer field; missing values are {@link EntryView#NO_VALUE}.
+         *
+         * @param index entry position
+         * @param field integer field
+         * @return stored value
+         */
+        int readInt(int index, Field field);
+
+        /**
+         * Reads a string field.
+         *
+         * @param index entry position
+         * @param field string field
+         * @return stored string, or {@code null}
+         */
+        String readString(int index, Field field);
+
+        /**
+         * Reads the flags of an entry.
+         *
+         * @param index entry position
+         * @return stored flags, or {@code null}
+         */
+        String[] readFlags(int index);
+    }
+
+    private static final Keywords[] KEYWORDS = Keywords.values();
+
+    private final Storage storage;
+    private final int index;
+
+    /**
+     * Creates a view of a stored entry.
+     *
+     * @param storage entry table
+     * @param index   entry position
+     */
+    OffHeapEntry(Storage storage, int index) {
+        this.storage = storage;
+        this.index = index;
+    }
+
+    /**
+     * @return position of the entry in nodelist order
+     */
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public int zone() {
+        return storage.readInt(index, Field.ZONE);
+    }
+
+    @Override
+    public int network() {
+        return storage.readInt(index, Field.NETWORK);
+    }
+
+    @Override
+    public int node() {
+        return storage.readInt(index, Field.NODE);
+    }
+
+    @Override
+    public Keywords keywords() {
+        int keyword = storage.readInt(index, Field.KEYWORD);
+        return keyword == 0 ? null : KEYWORDS[keyword - 1];
+    }
+
+    @Override
+    public String nodeName() {
+        return storage.readString(index, Field.NODE_NAME);
+    }
+
+    @Override
+    public String location() {
+        return storage.readString(index, Field.LOCATION);
+    }
+
+    @Override
+    public String sysOpName() {
+        return storage.readString(index, Field.SYSOP_NAME);
+    }
+
+    @Override
+    public String phone() {
+        return storage.readString(index, Field.PHONE);
+    }
+
+    @Override
+    public Integer baudRate() {
+        int baudRate = storage.readInt(index, Field.BAUD_RATE);
+        return baudRate == NO_VALUE ? null : baudRate;
+    }
+
+    @Override
+    public String[] flags() {
+        return storage.readFlags(index);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapEntry{" + zone() + ":" + network() + "/" + node() + ", index=" + index + '}';
+    }
+}
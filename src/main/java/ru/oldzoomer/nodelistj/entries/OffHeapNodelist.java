@@ -0,0 +1,323 @@
+package ru.oldzoomer.nodelistj.entries;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nodelist stored outside the Java heap.
+ *
+ * <p>The entry table, a deduplicated string pool, the flag lists and an address index are copied
+ * into {@link MemorySegment}s of a shared {@link Arena}. Only this small holder and the views handed
+ * out by {@link #get(int)} and {@link #find(int, int, int)} live on the heap, so keeping many
+ * versions in memory does not grow the heap or the work of the garbage collector.</p>
+ *
+ * <p>The memory is released by {@link #close()}. Accessing the nodelist or any of its views after
+ * that throws {@link IllegalStateException}. Reads are safe from any thread while the nodelist is open.</p>
+ */
+public final class OffHeapNodelist implements AutoCloseable {
+
+    private static final int NO_STRING = -1;
+    private static final int NO_FLAGS = -1;
+
+    // entry record layout, one int per field: the OffHeapEntry.Field values in order, then the flag list
+    private static final int ZONE = offset(OffHeapEntry.Field.ZONE);
+    private static final int NETWORK = offset(OffHeapEntry.Field.NETWORK);
+    private static final int NODE = offset(OffHeapEntry.Field.NODE);
+    private static final int KEYWORD = offset(OffHeapEntry.Field.KEYWORD);
+    private static final int BAUD_RATE = offset(OffHeapEntry.Field.BAUD_RATE);
+    private static final int NODE_NAME = offset(OffHeapEntry.Field.NODE_NAME);
+    private static final int LOCATION = offset(OffHeapEntry.Field.LOCATION);
+    private static final int SYSOP_NAME = offset(OffHeapEntry.Field.SYSOP_NAME);
+    private static final int PHONE = offset(OffHeapEntry.Field.PHONE);
+    private static final int FLAGS_START = OffHeapEntry.Field.values().length * Integer.BYTES;
+    private static final int FLAGS_COUNT = FLAGS_START + Integer.BYTES;
+    private static final int ENTRY_SIZE = FLAGS_COUNT + Integer.BYTES;
+
+    private final Arena arena;
+    private final int size;
+    private final MemorySegment entries;
+    private final MemorySegment strings;
+    private final MemorySegment flags;
+    private final MemorySegment indexKeys;
+    private final MemorySegment indexEntries;
+    private final int indexSize;
+    private final OffHeapEntry.Storage storage = new Storage();
+
+    /**
+     * Copies a nodelist into off-heap memory.
+     *
+     * @param nodelist nodelist to copy
+     */
+    public OffHeapNodelist(Nodelist nodelist) {
+        this(nodelist == null ? null : nodelist.getNodelist());
+    }
+
+    /**
+     * Copies nodelist entries into off-heap memory.
+     *
+     * @param nodelistEntries entries to copy
+     */
+    public OffHeapNodelist(List<NodelistEntry> nodelistEntries) {
+        if (nodelistEntries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+
+        size = nodelistEntries.size();
+
+        // Strings are deduplicated in a temporary heap map that becomes garbage after construction.
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        ByteSink stringBytes = new ByteSink();
+        int flagCount = 0;
+        for (NodelistEntry entry : nodelistEntries) {
+            flagCount += entry.flags() == null ? 0 : entry.flags().length;
+        }
+
+        arena = Arena.ofShared();
+        try {
+            entries = arena.allocate((long) Math.max(size, 1) * ENTRY_SIZE, Integer.BYTES);
+            flags = arena.allocate((long) Math.max(flagCount, 1) * Integer.BYTES, Integer.BYTES);
+
+            long[] keys = new long[size];
+            int[] positions = new int[size];
+            int indexed = 0;
+            int flagPos = 0;
+            for (int i = 0; i < size; i++) {
+                NodelistEntry entry = nodelistEntries.get(i);
+                long base = (long) i * ENTRY_SIZE;
+                int zone = intValue(entry.zone());
+                int network = intValue(entry.network());
+                int node = intValue(entry.node());
+                entries.set(ValueLayout.JAVA_INT, base + ZONE, zone);
+                entries.set(ValueLayout.JAVA_INT, base + NETWORK, network);
+                entries.set(ValueLayout.JAVA_INT, base + NODE, node);
+                entries.set(ValueLayout.JAVA_INT, base + KEYWORD,
+                        entry.keywords() == null ? 0 : entry.keywords().ordinal() + 1);
+                entries.set(ValueLayout.JAVA_INT, base + BAUD_RATE, intValue(entry.baudRate()));
+                entries.set(ValueLayout.JAVA_INT, base + NODE_NAME, intern(entry.nodeName(), stringOffsets, stringBytes));
+                entries.set(ValueLayout.JAVA_INT, base + LOCATION, intern(entry.location(), stringOffsets, stringBytes));
+                entries.set(ValueLayout.JAVA_INT, base + SYSOP_NAME, intern(entry.sysOpName(), stringOffsets, stringBytes));
+                entries.set(ValueLayout.JAVA_INT, base + PHONE, intern(entry.phone(), stringOffsets, stringBytes));
+
+                String[] entryFlags = entry.flags();
+                entries.set(ValueLayout.JAVA_INT, base + FLAGS_START, flagPos);
+                entries.set(ValueLayout.JAVA_INT, base + FLAGS_COUNT, entryFlags == null ? NO_FLAGS : entryFlags.length);
+                if (entryFlags != null) {
+                    for (String flag : entryFlags) {
+                        flags.setAtIndex(ValueLayout.JAVA_INT, flagPos++, intern(flag, stringOffsets, stringBytes));
+                    }
+                }
+
+                if (AddressKey.isValid(zone, network, node)) {
+                    keys[indexed] = AddressKey.of(zone, network, node);
+                    positions[indexed++] = i;
+                }
+            }
+
+            strings = arena.allocate(Math.max(stringBytes.size, 1), 1);
+            MemorySegment.copy(stringBytes.bytes, 0, strings, ValueLayout.JAVA_BYTE, 0, stringBytes.size);
+
+            AddressKey.sort(keys, positions, indexed);
+            indexKeys = arena.allocate((long) Math.max(indexed, 1) * Long.BYTES, Long.BYTES);
+            indexEntries = arena.allocate((long) Math.max(indexed, 1) * Integer.BYTES, Integer.BYTES);
+            for (int i = 0; i < indexed; i++) {
+                indexKeys.setAtIndex(ValueLayout.JAVA_LONG, i, keys[i]);
+                indexEntries.setAtIndex(ValueLayout.JAVA_INT, i, positions[i]);
+            }
+            indexSize = indexed;
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the entry at the given position.
+     *
+     * @param index entry position in nodelist order
+     * @return view reading from off-heap memory
+     */
+    public OffHeapEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        entries.get(ValueLayout.JAVA_INT, (long) index * ENTRY_SIZE); // fails fast once closed
+        return new OffHeapEntry(storage, index);
+    }
+
+    /**
+     * Finds the position of the first entry with the given address.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return entry position, or {@code -1} if there is no such entry
+     */
+    public int indexOf(int zone, int network, int node) {
+        if (!AddressKey.isValid(zone, network, node)) {
+            return -1;
+        }
+        long key = AddressKey.of(zone, network, node);
+        int low = 0;
+        int high = indexSize - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = indexKeys.getAtIndex(ValueLayout.JAVA_LONG, mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else {
+                if (midKey == key) {
+                    found = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? -1 : indexEntries.getAtIndex(ValueLayout.JAVA_INT, found);
+    }
+
+    /**
+     * Finds the first entry with the given address.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return view of the entry, or {@code null} if there is no such entry
+     */
+    public OffHeapEntry find(int zone, int network, int node) {
+        int index = indexOf(zone, network, node);
+        return index < 0 ? null : new OffHeapEntry(storage, index);
+    }
+
+    /**
+     * @return number of off-heap bytes held by this nodelist
+     */
+    public long byteSize() {
+        return entries.byteSize() + strings.byteSize() + flags.byteSize()
+                + indexKeys.byteSize() + indexEntries.byteSize();
+    }
+
+    /**
+     * @return {@code true} while the off-heap memory has not been released
+     */
+    public boolean isOpen() {
+        return arena.scope().isAlive();
+    }
+
+    /**
+     * Releases the off-heap memory. Views obtained from this nodelist become unusable.
+     */
+    @Override
+    public void close() {
+        if (isOpen()) {
+            arena.close();
+        }
+    }
+
+    private int readInt(int index, int field) {
+        return entries.get(ValueLayout.JAVA_INT, (long) index * ENTRY_SIZE + field);
+    }
+
+    private String readString(int offset) {
+        if (offset == NO_STRING) {
+            return null;
+        }
+        int length = strings.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(strings, ValueLayout.JAVA_BYTE, offset + Integer.BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int intern(String value, Map<String, Integer> offsets, ByteSink sink) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer offset = offsets.get(value);
+        if (offset == null) {
+            offset = sink.size;
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            sink.writeInt(bytes.length);
+            sink.write(bytes);
+            offsets.put(value, offset);
+        }
+        return offset;
+    }
+
+    private static int intValue(Integer value) {
+        return value == null ? EntryView.NO_VALUE : value;
+    }
+
+    private static int offset(OffHeapEntry.Field field) {
+        return field.ordinal() * Integer.BYTES;
+    }
+
+    /**
+     * Growable byte buffer used to assemble the string pool before it is copied off-heap.
+     */
+    private static final class ByteSink {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        private void writeInt(int value) {
+            ensure(Integer.BYTES);
+            MemorySegment.ofArray(bytes).set(ValueLayout.JAVA_INT_UNALIGNED, size, value);
+            size += Integer.BYTES;
+        }
+
+        private void write(byte[] data) {
+            ensure(data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads the entry records of this nodelist for its {@link OffHeapEntry} views.
+     */
+    private final class Storage implements OffHeapEntry.Storage {
+
+        @Override
+        public int readInt(int index, OffHeapEntry.Field field) {
+            return OffHeapNodelist.this.readInt(index, offset(field));
+        }
+
+        @Override
+        public String readString(int index, OffHeapEntry.Field field) {
+            return OffHeapNodelist.this.readString(OffHeapNodelist.this.readInt(index, offset(field)));
+        }
+
+        @Override
+        public String[] readFlags(int index) {
+            int count = OffHeapNodelist.this.readInt(index, FLAGS_COUNT);
+            if (count == NO_FLAGS) {
+                return null;
+            }
+            int start = OffHeapNodelist.this.readInt(index, FLAGS_START);
+            String[] result = new String[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = OffHeapNodelist.this.readString(flags.getAtIndex(ValueLayout.JAVA_INT, start + i));
+            }
+            return result;
+        }
+    }
+}
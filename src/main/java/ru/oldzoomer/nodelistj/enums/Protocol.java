@@ -0,0 +1,54 @@
+package ru.oldzoomer.nodelistj.enums;
+
+/**
+ * IP connection protocols advertised by nodelist flags.
+ */
+public enum Protocol {
+    BINKP("IBN", 24554),
+    TELNET("ITN", 23),
+    IFCICO("IFC", 60179);
+
+    private static final Protocol[] VALUES = values();
+
+    private final String flag;
+    private final int defaultPort;
+
+    Protocol(String flag, int defaultPort) {
+        this.flag = flag;
+        this.defaultPort = defaultPort;
+    }
+
+    /**
+     * Returns the protocol advertised by the given flag name, or {@code null}
+     * if the flag does not describe an IP connection protocol.
+     *
+     * @param flag the flag name without value (e.g. "IBN")
+     * @return the matching {@link Protocol} or {@code null}
+     */
+    public static Protocol fromFlag(String flag) {
+        for (Protocol p : VALUES) {
+            if (p.flag.equals(flag)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the nodelist flag name for this protocol.
+     *
+     * @return the flag name (e.g. "IBN")
+     */
+    public String flag() {
+        return flag;
+    }
+
+    /**
+     * Returns the well-known port used when the flag carries no port.
+     *
+     * @return the default TCP port
+     */
+    public int defaultPort() {
+        return defaultPort;
+    }
+}
@@ -0,0 +1,336 @@
+package ru.oldzoomer.nodelistj.history;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Archive of consecutive nodelist versions stored as checkpoints and per-day deltas.
+ *
+ * <p>The first version and every {@code checkpointInterval}-th version after it are kept as full
+ * address-sorted snapshots; the versions in between only record the entries that were added,
+ * changed or removed compared to the previous version. Unchanged entries are shared between
+ * versions, so the archive grows with the amount of change rather than with the number of days.</p>
+ *
+ * <p>A point-in-time lookup walks back from the requested version to the nearest checkpoint, so
+ * its cost is bounded by the checkpoint interval and does not depend on the archive length.</p>
+ *
+ * <p>Versions must be appended in ascending date order. Appending is not thread-safe; lookups may
+ * run concurrently with each other but not with {@link #append}.</p>
+ */
+public final class NodelistHistory {
+
+    /**
+     * Default number of versions between two full snapshots.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+
+    private static final long[] NO_KEYS = new long[0];
+    private static final NodelistEntry[] NO_ENTRIES = new NodelistEntry[0];
+
+    private final int checkpointInterval;
+    private final List<Version> versions = new ArrayList<>();
+
+    private long[] currentKeys = NO_KEYS;
+    private NodelistEntry[] currentEntries = NO_ENTRIES;
+
+    /**
+     * Creates an empty history with the {@linkplain #DEFAULT_CHECKPOINT_INTERVAL default} checkpoint interval.
+     */
+    public NodelistHistory() {
+        this(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Creates an empty history.
+     *
+     * @param checkpointInterval number of versions between two full snapshots
+     */
+    public NodelistHistory(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Appends the nodelist published on the given date.
+     *
+     * @param date     nodelist date, later than every date appended before
+     * @param nodelist parsed nodelist
+     */
+    public void append(LocalDate date, Nodelist nodelist) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        append(date, nodelist.getNodelist());
+    }
+
+    /**
+     * Appends the nodelist entries published on the given date.
+     * When an address occurs more than once, the first entry wins.
+     *
+     * @param date    nodelist date, later than every date appended before
+     * @param entries parsed nodelist entries
+     */
+    public void append(LocalDate date, List<NodelistEntry> entries) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        long day = date.toEpochDay();
+        if (!versions.isEmpty() && versions.getLast().day >= day) {
+            throw new IllegalArgumentException("Nodelist for " + date + " is not newer than the last appended one");
+        }
+
+        int size = entries.size();
+        long[] keys = new long[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            NodelistEntry entry = entries.get(i);
+            if (entry.zone() != null && entry.network() != null && entry.node() != null
+                    && AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+                keys[count] = AddressKey.of(entry);
+                positions[count++] = i;
+            }
+        }
+        AddressKey.sort(keys, positions, count);
+
+        // first occurrence of an address wins; unchanged entries reuse the previous instance
+        long[] nextKeys = new long[count];
+        NodelistEntry[] nextEntries = new NodelistEntry[count];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique > 0 && nextKeys[unique - 1] == keys[i]) {
+                continue;
+            }
+            NodelistEntry entry = entries.get(positions[i]);
+            int previous = Arrays.binarySearch(currentKeys, keys[i]);
+            if (previous >= 0 && currentEntries[previous].equals(entry)) {
+                entry = currentEntries[previous];
+            }
+            nextKeys[unique] = keys[i];
+            nextEntries[unique++] = entry;
+        }
+        nextKeys = Arrays.copyOf(nextKeys, unique);
+        nextEntries = Arrays.copyOf(nextEntries, unique);
+
+        if (versions.size() % checkpointInterval == 0) {
+            versions.add(new Version(day, true, nextKeys, nextEntries));
+        } else {
+            versions.add(diff(day, nextKeys, nextEntries));
+        }
+        currentKeys = nextKeys;
+        currentEntries = nextEntries;
+    }
+
+    /**
+     * Looks up the entry of a node as it was in the latest nodelist published on or before the given date.
+     *
+     * @param asOf    point in time
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return the entry, or {@code null} if the node was not listed at that time
+     */
+    public NodelistEntry find(LocalDate asOf, int zone, int network, int node) {
+        int version = versionAt(asOf);
+        if (version < 0 || !AddressKey.isValid(zone, network, node)) {
+            return null;
+        }
+        long key = AddressKey.of(zone, network, node);
+        for (int v = version; ; v--) {
+            Version candidate = versions.get(v);
+            int slot = Arrays.binarySearch(candidate.keys, key);
+            if (slot >= 0) {
+                return candidate.entries[slot];
+            }
+            if (candidate.checkpoint) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Looks up the entry of a node as of a nodelist day number.
+     *
+     * @param year      year of the nodelist
+     * @param dayNumber nodelist day number (day of year, 1-based)
+     * @param zone      zone number
+     * @param network   network number
+     * @param node      node number
+     * @return the entry, or {@code null} if the node was not listed at that time
+     */
+    public NodelistEntry find(int year, int dayNumber, int zone, int network, int node) {
+        return find(LocalDate.ofYearDay(year, dayNumber), zone, network, node);
+    }
+
+    /**
+     * Reconstructs the full nodelist in effect on the given date, in address order.
+     *
+     * @param asOf point in time
+     * @return entries of the latest nodelist published on or before the date, or an empty list
+     */
+    public List<NodelistEntry> snapshot(LocalDate asOf) {
+        int version = versionAt(asOf);
+        if (version < 0) {
+            return List.of();
+        }
+        int checkpoint = version;
+        while (!versions.get(checkpoint).checkpoint) {
+            checkpoint--;
+        }
+
+        Version base = versions.get(checkpoint);
+        long[] keys = base.keys;
+        NodelistEntry[] entries = base.entries;
+        for (int v = checkpoint + 1; v <= version; v++) {
+            Version delta = versions.get(v);
+            long[] mergedKeys = new long[keys.length + delta.keys.length];
+            NodelistEntry[] mergedEntries = new NodelistEntry[mergedKeys.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < keys.length || j < delta.keys.length) {
+                if (j == delta.keys.length || (i < keys.length && keys[i] < delta.keys[j])) {
+                    mergedKeys[k] = keys[i];
+                    mergedEntries[k++] = entries[i++];
+                } else {
+                    if (i < keys.length && keys[i] == delta.keys[j]) {
+                        i++;
+                    }
+                    if (delta.entries[j] != null) {
+                        mergedKeys[k] = delta.keys[j];
+                        mergedEntries[k++] = delta.entries[j];
+                    }
+                    j++;
+                }
+            }
+            keys = Arrays.copyOf(mergedKeys, k);
+            entries = Arrays.copyOf(mergedEntries, k);
+        }
+        return List.of(entries);
+    }
+
+    /**
+     * Returns every change of a node over the whole archive, oldest first.
+     * The first version of the archive reports the node as added if it was listed.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return list of changes; a change with a {@code null} entry means the node was removed
+     */
+    public List<Change> changes(int zone, int network, int node) {
+        if (!AddressKey.isValid(zone, network, node)) {
+            return List.of();
+        }
+        long key = AddressKey.of(zone, network, node);
+        List<Change> changes = new ArrayList<>();
+        NodelistEntry last = null;
+        for (Version version : versions) {
+            int slot = Arrays.binarySearch(version.keys, key);
+            NodelistEntry entry;
+            if (slot >= 0) {
+                entry = version.entries[slot];
+            } else if (version.checkpoint) {
+                entry = null;
+            } else {
+                continue;
+            }
+            if (entry != last) {
+                changes.add(new Change(LocalDate.ofEpochDay(version.day), entry));
+                last = entry;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return number of versions in the archive
+     */
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * @return dates of all versions, oldest first
+     */
+    public List<LocalDate> dates() {
+        List<LocalDate> dates = new ArrayList<>(versions.size());
+        for (Version version : versions) {
+            dates.add(LocalDate.ofEpochDay(version.day));
+        }
+        return dates;
+    }
+
+    private int versionAt(LocalDate asOf) {
+        if (asOf == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        long day = asOf.toEpochDay();
+        int low = 0;
+        int high = versions.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (versions.get(mid).day <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private Version diff(long day, long[] nextKeys, NodelistEntry[] nextEntries) {
+        int capacity = currentKeys.length + nextKeys.length;
+        long[] keys = new long[capacity];
+        NodelistEntry[] entries = new NodelistEntry[capacity];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < currentKeys.length || j < nextKeys.length) {
+            if (j == nextKeys.length || (i < currentKeys.length && currentKeys[i] < nextKeys[j])) {
+                keys[k] = currentKeys[i++];
+                entries[k++] = null; // removed
+            } else if (i == currentKeys.length || nextKeys[j] < currentKeys[i]) {
+                keys[k] = nextKeys[j];
+                entries[k++] = nextEntries[j++]; // added
+            } else {
+                if (currentEntries[i] != nextEntries[j]) {
+                    keys[k] = nextKeys[j];
+                    entries[k++] = nextEntries[j]; // changed
+                }
+                i++;
+                j++;
+            }
+        }
+        return new Version(day, false, Arrays.copyOf(keys, k), Arrays.copyOf(entries, k));
+    }
+
+    /**
+     * A change of a node in the archive.
+     *
+     * @param date  date of the nodelist that introduced the change
+     * @param entry entry as of that date, or {@code null} if the node was removed
+     */
+    public record Change(LocalDate date, NodelistEntry entry) {
+    }
+
+    /**
+     * A stored version: a full snapshot for checkpoints, otherwise the changes against the
+     * previous version with {@code null} entries marking removed addresses.
+     */
+    private record Version(long day, boolean checkpoint, long[] keys, NodelistEntry[] entries) {
+    }
+}
@@ -0,0 +1,308 @@
+package ru.oldzoomer.nodelistj.index;
+
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Index of nodelist entries by address, with bulk resolution of SEEN-BY and PATH lines.
+ *
+ * <p>Packed addresses are kept in a sorted array next to the ordinals (indexes into the list the
+ * index was built from) of their entries. {@link #resolve} parses the net-relative 2D addresses of
+ * an echomail control line (e.g. {@code 5020/1042 1043 5030/100}) straight from the message bytes,
+ * sorts them, and resolves the whole line in one merge pass over the index. The results land in a
+ * {@link Batch} that is reused from one line to the next, so a tosser resolving its messages does
+ * not allocate:</p>
+ *
+ * <pre>{@code
+ * AddressIndex.Batch batch = new AddressIndex.Batch();
+ * int count = index.resolve(2, body, seenByStart, seenByEnd, batch);
+ * for (int i = 0; i < count; i++) {
+ *     if (batch.ordinal(i) >= 0) {
+ *         NodelistEntry entry = entries.get(batch.ordinal(i));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Instances are immutable and safe for concurrent use; a {@link Batch} must not be shared
+ * between threads.</p>
+ */
+public final class AddressIndex {
+
+    /**
+     * Ordinal of an address that is not listed or could not be parsed.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final int NODE_SHIFT = 31;
+    private static final int NETWORK_SHIFT = 47;
+    private static final long POSITION_MASK = (1L << NODE_SHIFT) - 1;
+    private static final long COMPONENT_MASK = 0xFFFFL;
+
+    private final long[] keys;
+    private final int[] ordinals;
+
+    /**
+     * Builds the address index from nodelist entries.
+     * When an address occurs more than once, the first entry wins.
+     *
+     * @param entries nodelist entries
+     */
+    public AddressIndex(List<NodelistEntry> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        int size = entries.size();
+        long[] sorted = new long[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            NodelistEntry entry = entries.get(i);
+            if (entry.zone() != null && entry.network() != null && entry.node() != null
+                    && AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+                sorted[count] = AddressKey.of(entry);
+                positions[count++] = i;
+            }
+        }
+        AddressKey.sort(sorted, positions, count);
+
+        // first occurrence of an address wins
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+                sorted[unique] = sorted[i];
+                positions[unique++] = positions[i];
+            }
+        }
+        keys = Arrays.copyOf(sorted, unique);
+        ordinals = Arrays.copyOf(positions, unique);
+    }
+
+    /**
+     * Finds the entry with the given address.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return ordinal of the entry, or {@link #NOT_FOUND}
+     */
+    public int find(int zone, int network, int node) {
+        if (!AddressKey.isValid(zone, network, node)) {
+            return NOT_FOUND;
+        }
+        int slot = Arrays.binarySearch(keys, AddressKey.of(zone, network, node));
+        return slot < 0 ? NOT_FOUND : ordinals[slot];
+    }
+
+    /**
+     * Resolves the addresses of a SEEN-BY or PATH line.
+     *
+     * <p>Addresses are separated by whitespace. {@code net/node} sets the net for the following
+     * addresses and a bare {@code node} uses the last net. Words ending in {@code :}, such as
+     * {@code SEEN-BY:} or {@code ^APATH:}, are skipped. A word that is not a valid address, or a
+     * bare node before any net, is returned with network and node {@code -1} and
+     * {@link #NOT_FOUND}.</p>
+     *
+     * @param zone  zone of the addresses
+     * @param bytes line bytes, ASCII
+     * @param from  first byte of the addresses
+     * @param to    end of the addresses, exclusive
+     * @param batch batch receiving the results in line order; its previous content is replaced
+     * @return number of addresses in the line
+     */
+    public int resolve(int zone, byte[] bytes, int from, int to, Batch batch) {
+        if (bytes == null || batch == null) {
+            throw new IllegalArgumentException("Bytes and batch cannot be null");
+        }
+        if (from < 0 || to > bytes.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range " + from + ".." + to + " of " + bytes.length);
+        }
+        if (!AddressKey.isValid(zone, 0, 0)) {
+            throw new IllegalArgumentException("Zone out of range: " + zone);
+        }
+
+        batch.size = 0;
+        int valid = 0;
+        long last = Long.MIN_VALUE;
+        boolean ordered = true;
+        int network = -1;
+        int pos = from;
+        while (true) {
+            while (pos < to && bytes[pos] <= ' ') {
+                pos++;
+            }
+            if (pos == to) {
+                break;
+            }
+            int start = pos;
+            while (pos < to && bytes[pos] > ' ') {
+                pos++;
+            }
+            if (bytes[pos - 1] == ':') {
+                continue;
+            }
+
+            int slash = -1;
+            for (int i = start; i < pos; i++) {
+                if (bytes[i] == '/') {
+                    slash = i;
+                    break;
+                }
+            }
+            int node;
+            if (slash < 0) {
+                node = parseComponent(bytes, start, pos);
+            } else {
+                network = parseComponent(bytes, start, slash);
+                node = parseComponent(bytes, slash + 1, pos);
+            }
+            int index = batch.add();
+            if (network < 0 || node < 0) {
+                if (slash >= 0) {
+                    network = -1;
+                }
+                batch.networks[index] = -1;
+                batch.nodes[index] = -1;
+                batch.ordinals[index] = NOT_FOUND;
+                continue;
+            }
+            batch.networks[index] = network;
+            batch.nodes[index] = node;
+            long packed = ((long) network << NETWORK_SHIFT) | ((long) node << NODE_SHIFT) | index;
+            ordered &= packed > last;
+            last = packed;
+            batch.sorted[valid++] = packed;
+        }
+
+        if (!ordered) {
+            Arrays.sort(batch.sorted, 0, valid);
+        }
+        merge(AddressKey.of(zone, 0, 0), batch, valid);
+        return batch.size;
+    }
+
+    /**
+     * @return number of indexed addresses
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Walks the sorted batch and the index together. Each address is searched from the position of
+     * the previous one by doubling the step, so a line costs about {@code log} of the gap between
+     * consecutive addresses rather than a full binary search each.
+     */
+    private void merge(long zoneKey, Batch batch, int valid) {
+        int cursor = 0;
+        for (int i = 0; i < valid; i++) {
+            long packed = batch.sorted[i];
+            int index = (int) (packed & POSITION_MASK);
+            long key = zoneKey | AddressKey.of(0, batch.networks[index], batch.nodes[index]);
+
+            int low = cursor;
+            int step = 1;
+            while (low + step < keys.length && keys[low + step] < key) {
+                low += step;
+                step <<= 1;
+            }
+            int slot = Arrays.binarySearch(keys, low, Math.min(low + step + 1, keys.length), key);
+            if (slot >= 0) {
+                batch.ordinals[index] = ordinals[slot];
+                cursor = slot;
+            } else {
+                batch.ordinals[index] = NOT_FOUND;
+                cursor = Math.min(-slot - 1, keys.length);
+            }
+        }
+    }
+
+    /**
+     * Parses a decimal address component.
+     *
+     * @return the value, or {@code -1} if the bytes are empty, not digits or above 65535
+     */
+    private static int parseComponent(byte[] bytes, int from, int to) {
+        if (from == to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value > COMPONENT_MASK) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reusable result buffer of {@link #resolve}. The arrays grow to the longest line resolved and
+     * are kept for the following ones.
+     */
+    public static final class Batch {
+        private int[] networks = new int[64];
+        private int[] nodes = new int[64];
+        private int[] ordinals = new int[64];
+        private long[] sorted = new long[64];
+        private int size;
+
+        /**
+         * @return number of addresses of the last resolved line
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i address position in the line
+         * @return ordinal of the entry, or {@link #NOT_FOUND}
+         */
+        public int ordinal(int i) {
+            return ordinals[Objects.checkIndex(i, size)];
+        }
+
+        /**
+         * @param i address position in the line
+         * @return network number, or {@code -1} if the address could not be parsed
+         */
+        public int network(int i) {
+            return networks[Objects.checkIndex(i, size)];
+        }
+
+        /**
+         * @param i address position in the line
+         * @return node number, or {@code -1} if the address could not be parsed
+         */
+        public int node(int i) {
+            return nodes[Objects.checkIndex(i, size)];
+        }
+
+        /**
+         * Returns the ordinals array itself; only the first {@link #size()} elements belong to the last line.
+         *
+         * @return backing ordinals array
+         */
+        public int[] ordinals() {
+            return ordinals;
+        }
+
+        private int add() {
+            if (size == ordinals.length) {
+                int capacity = size * 2;
+                networks = Arrays.copyOf(networks, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                sorted = Arrays.copyOf(sorted, capacity);
+            }
+            return size++;
+        }
+    }
+}
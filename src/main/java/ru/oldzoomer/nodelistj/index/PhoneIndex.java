@@ -0,0 +1,227 @@
+package ru.oldzoomer.nodelistj.index;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Index of nodelist entries by normalized phone number.
+ *
+ * <p>Phone numbers are normalized to their digits ({@code 1-724-552-9698} becomes {@code 17245529698}).
+ * Entries whose phone field has no digits, such as {@code -Unpublished-}, are not indexed.
+ * The numbers are packed into a single byte array sorted lexicographically, so every number
+ * sharing a prefix forms one contiguous range found by two binary searches.</p>
+ *
+ * <p>Positions returned by {@link #lowerBound(String)} and {@link #upperBound(String)} are resolved
+ * to entry ordinals (indexes into the list the index was built from) with {@link #ordinal(int)},
+ * which lets callers walk a range without allocating once its bounds are computed:</p>
+ *
+ * <pre>{@code
+ * int to = index.upperBound("7495");
+ * for (int i = index.lowerBound("7495"); i < to; i++) {
+ *     NodelistEntry entry = entries.get(index.ordinal(i));
+ * }
+ * }</pre>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ */
+public final class PhoneIndex {
+
+    private final byte[] digits;
+    private final int[] offsets;
+    private final int[] ordinals;
+
+    /**
+     * Builds the phone index from nodelist entries.
+     *
+     * @param entries nodelist entries
+     */
+    public PhoneIndex(List<NodelistEntry> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+
+        List<PhoneNumber> numbers = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String normalized = normalize(entries.get(i).phone());
+            if (!normalized.isEmpty()) {
+                numbers.add(new PhoneNumber(normalized, i));
+            }
+        }
+        numbers.sort(Comparator.comparing(PhoneNumber::digits));
+
+        int total = 0;
+        for (PhoneNumber number : numbers) {
+            total += number.digits.length();
+        }
+        digits = new byte[total];
+        offsets = new int[numbers.size() + 1];
+        ordinals = new int[numbers.size()];
+        int pos = 0;
+        for (int i = 0; i < numbers.size(); i++) {
+            PhoneNumber number = numbers.get(i);
+            offsets[i] = pos;
+            ordinals[i] = number.ordinal;
+            for (int c = 0; c < number.digits.length(); c++) {
+                digits[pos++] = (byte) (number.digits.charAt(c) - '0');
+            }
+        }
+        offsets[numbers.size()] = pos;
+    }
+
+    /**
+     * Normalizes a phone number to its digits.
+     *
+     * @param phone phone field value, may be {@code null}
+     * @return the digits of the number, or an empty string if it has none
+     */
+    public static String normalize(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (sb == null) {
+                    sb = new StringBuilder(phone.length());
+                }
+                sb.append(c);
+            }
+        }
+        return sb == null ? "" : sb.toString();
+    }
+
+    /**
+     * Returns the first position whose number is not less than the normalized prefix.
+     *
+     * @param prefix phone prefix in any notation (e.g. "7-495")
+     * @return position in {@code 0..size()}
+     */
+    public int lowerBound(String prefix) {
+        byte[] key = digitsOf(prefix);
+        int low = 0;
+        int high = ordinals.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first position after every number that starts with the normalized prefix.
+     *
+     * @param prefix phone prefix in any notation (e.g. "7-495")
+     * @return position in {@code 0..size()}
+     */
+    public int upperBound(String prefix) {
+        byte[] key = digitsOf(prefix);
+        int low = 0;
+        int high = ordinals.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key, true) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the ordinals of all entries whose number starts with the given prefix.
+     *
+     * @param prefix phone prefix in any notation (e.g. "1-724")
+     * @return entry ordinals in phone number order
+     */
+    public int[] findByPrefix(String prefix) {
+        return Arrays.copyOfRange(ordinals, lowerBound(prefix), upperBound(prefix));
+    }
+
+    /**
+     * Returns the ordinals of all entries with exactly the given number.
+     *
+     * @param phone phone number in any notation
+     * @return entry ordinals, empty if the number is not listed or has no digits
+     */
+    public int[] find(String phone) {
+        byte[] key = digitsOf(phone);
+        if (key.length == 0) {
+            return new int[0];
+        }
+        int from = lowerBound(phone);
+        int to = from;
+        while (to < ordinals.length && compare(to, key, false) == 0) {
+            to++;
+        }
+        return Arrays.copyOfRange(ordinals, from, to);
+    }
+
+    /**
+     * @param position position in {@code 0..size()-1}
+     * @return ordinal of the entry at the position
+     */
+    public int ordinal(int position) {
+        return ordinals[position];
+    }
+
+    /**
+     * @param position position in {@code 0..size()-1}
+     * @return normalized number at the position
+     */
+    public String number(int position) {
+        StringBuilder sb = new StringBuilder(offsets[position + 1] - offsets[position]);
+        for (int i = offsets[position]; i < offsets[position + 1]; i++) {
+            sb.append((char) ('0' + digits[i]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return number of indexed entries
+     */
+    public int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * Compares the number at a position with a key. With {@code prefixOnly} set, a number that
+     * starts with the key compares as equal.
+     */
+    private int compare(int position, byte[] key, boolean prefixOnly) {
+        int start = offsets[position];
+        int length = offsets[position + 1] - start;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = digits[start + i] - key[i];
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        if (prefixOnly && length >= key.length) {
+            return 0;
+        }
+        return length - key.length;
+    }
+
+    private static byte[] digitsOf(String phone) {
+        String normalized = normalize(phone);
+        byte[] key = new byte[normalized.length()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) (normalized.charAt(i) - '0');
+        }
+        return key;
+    }
+
+    private record PhoneNumber(String digits, int ordinal) {
+    }
+}
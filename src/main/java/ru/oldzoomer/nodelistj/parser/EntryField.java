@@ -0,0 +1,36 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Optional {@link ru.oldzoomer.nodelistj.entries.NodelistEntry} fields that a parser can be asked to decode.
+ *
+ * <p>Zone, network, node and keyword are always decoded, because the parser needs them to track
+ * the nodelist structure.</p>
+ */
+public enum EntryField {
+    /** System name. */
+    NODE_NAME,
+    /** Location. */
+    LOCATION,
+    /** Sysop name. */
+    SYSOP_NAME,
+    /** Phone number. */
+    PHONE,
+    /** Baud rate. The field is validated either way, so projection never changes which lines are parsed. */
+    BAUD_RATE,
+    /** Flags. */
+    FLAGS;
+
+    /**
+     * Every optional field.
+     */
+    public static final Set<EntryField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EntryField.class));
+
+    /**
+     * Fields needed for routing and connection lookups: the flags only.
+     */
+    public static final Set<EntryField> FLAGS_ONLY = Collections.unmodifiableSet(EnumSet.of(FLAGS));
+}
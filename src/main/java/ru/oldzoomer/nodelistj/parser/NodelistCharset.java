@@ -0,0 +1,139 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes nodelist lines from bytes into Strings for a fixed charset.
+ *
+ * <p>Lines made of ASCII bytes only, which is the common case, are copied into compact Latin-1
+ * Strings without going through a {@link CharsetDecoder}. Other lines of single-byte charsets such as
+ * CP437 and CP866 are decoded through a 256-entry lookup table built once from the JDK charset;
+ * multi-byte charsets such as UTF-8 fall back to the JDK decoder.</p>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ */
+public final class NodelistCharset {
+
+    /**
+     * IBM code page 437, the traditional charset of FidoNet nodelists.
+     */
+    public static final NodelistCharset CP437 = of(Charset.forName("IBM437"));
+
+    /**
+     * IBM code page 866, used by Russian nodelist segments.
+     */
+    public static final NodelistCharset CP866 = of(Charset.forName("IBM866"));
+
+    /**
+     * Charset used when none is given.
+     */
+    public static final NodelistCharset DEFAULT = CP437;
+
+    private static final int BYTE_VALUES = 256;
+    private static final int ASCII_VALUES = 128;
+
+    private final Charset charset;
+    private final char[] table;
+    private final boolean asciiCompatible;
+
+    private NodelistCharset(Charset charset, char[] table, boolean asciiCompatible) {
+        this.charset = charset;
+        this.table = table;
+        this.asciiCompatible = asciiCompatible;
+    }
+
+    /**
+     * Returns the decoder for the given charset.
+     *
+     * @param charset nodelist charset
+     * @return decoder for the charset
+     */
+    public static NodelistCharset of(Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        if (CP437 != null && CP437.charset.equals(charset)) {
+            return CP437;
+        }
+        if (CP866 != null && CP866.charset.equals(charset)) {
+            return CP866;
+        }
+
+        byte[] ascii = new byte[ASCII_VALUES];
+        for (int i = 0; i < ASCII_VALUES; i++) {
+            ascii[i] = (byte) i;
+        }
+        boolean asciiCompatible = new String(ascii, charset).equals(new String(ascii, StandardCharsets.ISO_8859_1));
+
+        char[] table = null;
+        if (isSingleByte(charset)) {
+            byte[] all = new byte[BYTE_VALUES];
+            for (int i = 0; i < BYTE_VALUES; i++) {
+                all[i] = (byte) i;
+            }
+            String decoded = new String(all, charset);
+            if (decoded.length() == BYTE_VALUES) {
+                table = decoded.toCharArray();
+            }
+        }
+        return new NodelistCharset(charset, table, asciiCompatible);
+    }
+
+    /**
+     * @return the JDK charset
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * Decodes a range of bytes.
+     *
+     * @param bytes  source array
+     * @param offset first byte
+     * @param length number of bytes
+     * @return decoded string
+     */
+    public String decode(byte[] bytes, int offset, int length) {
+        if (asciiCompatible && isAscii(bytes, offset, length)) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        if (table != null) {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = table[bytes[offset + i] & 0xFF];
+            }
+            return new String(chars);
+        }
+        return new String(bytes, offset, length, charset);
+    }
+
+    /**
+     * @return {@code true} if ASCII characters are encoded as single bytes with their ASCII values,
+     * so that field separators can be found without decoding
+     */
+    boolean isAsciiCompatible() {
+        return asciiCompatible;
+    }
+
+    @Override
+    public String toString() {
+        return "NodelistCharset{" + charset.name() + '}';
+    }
+
+    private static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSingleByte(Charset charset) {
+        return charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f
+                && charset.newDecoder().maxCharsPerByte() == 1.0f;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+/**
+ * A nodelist line as seen by the parser, for consumers that need more than the
+ * parsed entries, such as validators.
+ *
+ * @param number 1-based line number in the nodelist text, counting comment and blank lines
+ * @param text   line text without its terminator
+ * @param fields the line split at every comma; the array is shared and must not be modified
+ * @param entry  the parsed entry, or {@code null} if the parser rejected the line or it is a comment
+ */
+public record NodelistLine(int number, String text, String[] fields, NodelistEntry entry) {
+}
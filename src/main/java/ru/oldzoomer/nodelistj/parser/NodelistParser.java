@@ -3,12 +3,14 @@ package ru.oldzoomer.nodelistj.parser;
 import ru.oldzoomer.nodelistj.entries.NodelistEntry;
 import ru.oldzoomer.nodelistj.enums.Keywords;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Parses a Fidonet nodelist from an {@link InputStream} into a flat list of {@link NodelistEntry} records.
@@ -17,42 +19,132 @@ import java.util.List;
  */
 public final class NodelistParser {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private NodelistParser() {
     }
 
     /**
-     * Parses a nodelist into a flat list of entries.
+     * Parses a nodelist in the {@linkplain NodelistCharset#DEFAULT default} charset into a flat list of entries.
      *
      * @param inputStream the source stream (not closed by this method; caller is responsible)
      * @return list of parsed {@link NodelistEntry} records
      * @throws IOException if an I/O error occurs while reading
      */
     public static List<NodelistEntry> parseNodelist(InputStream inputStream) throws IOException {
-        List<NodelistEntry> entries = new ArrayList<>();
+        return parseNodelist(inputStream, NodelistCharset.DEFAULT);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            ParserUtils.ParsingContext ctx = new ParserUtils.ParsingContext();
-            String line;
+    /**
+     * Parses a nodelist into a flat list of entries.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @return list of parsed {@link NodelistEntry} records
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public static List<NodelistEntry> parseNodelist(InputStream inputStream, Charset charset) throws IOException {
+        return parseNodelist(inputStream, NodelistCharset.of(charset));
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (ParserUtils.shouldSkipLine(line)) {
-                    continue;
-                }
+    /**
+     * Parses a nodelist into a flat list of entries.
+     *
+     * <p>The stream is read in blocks that are split into lines and decoded without an intermediate
+     * {@link java.io.Reader}; see {@link NodelistPushParser}.</p>
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @return list of parsed {@link NodelistEntry} records
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public static List<NodelistEntry> parseNodelist(InputStream inputStream, NodelistCharset charset) throws IOException {
+        List<NodelistEntry> entries = new ArrayList<>();
+        read(inputStream, new NodelistPushParser(entries::add, charset));
+        return entries;
+    }
 
-                NodelistEntry entry = parseLine(line, ctx);
-                if (entry != null) {
-                    entries.add(entry);
-                }
-            }
-        }
+    /**
+     * Parses a nodelist, decoding only the selected entry fields. Unselected fields are {@code null}
+     * in the returned entries and are skipped without creating Strings, which suits jobs that need
+     * only addresses and flags, such as routing.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @param fields      fields to decode, e.g. {@link EntryField#FLAGS_ONLY}
+     * @return list of parsed {@link NodelistEntry} records
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public static List<NodelistEntry> parseNodelist(InputStream inputStream, NodelistCharset charset,
+                                                    Set<EntryField> fields) throws IOException {
+        List<NodelistEntry> entries = new ArrayList<>();
+        read(inputStream, new NodelistPushParser(entries::add, charset, fields));
+        return entries;
+    }
 
+    /**
+     * Parses a nodelist segment, such as a region or net segment, whose lines are not preceded by
+     * a Zone line. Entries before the segment's own Zone line, if any, are placed in the given zone.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @param zone        zone the segment belongs to
+     * @return list of parsed {@link NodelistEntry} records
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public static List<NodelistEntry> parseSegment(InputStream inputStream, NodelistCharset charset, int zone)
+            throws IOException {
+        List<NodelistEntry> entries = new ArrayList<>();
+        NodelistPushParser parser = new NodelistPushParser(entries::add, charset);
+        parser.startInZone(zone);
+        read(inputStream, parser);
         return entries;
     }
 
-    private static NodelistEntry parseLine(String line, ParserUtils.ParsingContext ctx) {
+    /**
+     * Parses a nodelist segment like {@link #parseSegment(InputStream, NodelistCharset, int)}, reporting
+     * every line instead of only the parsed entries. Comment lines and lines the parser rejects are
+     * reported with a {@code null} entry; blank lines and the end-of-file marker are not reported.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @param zone        zone the segment belongs to
+     * @param sink        receives lines in segment order
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public static void parseSegment(InputStream inputStream, NodelistCharset charset, int zone,
+                                    Consumer<? super NodelistLine> sink) throws IOException {
+        NodelistPushParser parser = NodelistPushParser.forSegmentLines(sink, charset, zone);
+        parser.reportComments();
+        read(inputStream, parser);
+    }
+
+    private static void read(InputStream inputStream, NodelistPushParser parser) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer chunk = ByteBuffer.wrap(buffer);
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            parser.feed(chunk.clear().limit(read));
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses a single non-comment line, updating the context for Zone, Region and Host lines.
+     *
+     * @return the entry, or {@code null} if the line is malformed
+     */
+    static NodelistEntry parseLine(String line, ParserUtils.ParsingContext ctx) {
         String processed = ParserUtils.preprocessLine(line);
-        String[] fields = processed.split(ParserUtils.FIELD_SEPARATOR, -1);
+        return parseFields(processed.split(ParserUtils.FIELD_SEPARATOR, -1), ctx);
+    }
 
+    /**
+     * Builds the entry of a line already split into fields, updating the context for Zone, Region and Host lines.
+     *
+     * @return the entry, or {@code null} if the line is malformed
+     */
+    static NodelistEntry parseFields(String[] fields, ParserUtils.ParsingContext ctx) {
         if (fields.length < ParserUtils.MIN_FIELDS_REQUIRED) {
             return null;
         }
@@ -94,7 +186,7 @@ public final class NodelistParser {
         }
     }
 
-    private static void updateContext(ParserUtils.ParsingContext ctx, Keywords keyword, Integer nodeNumber) {
+    static void updateContext(ParserUtils.ParsingContext ctx, Keywords keyword, Integer nodeNumber) {
         if (keyword == Keywords.ZONE) {
             ctx.setCurrentZone(nodeNumber);
             ctx.setCurrentNetwork(nodeNumber);
@@ -105,7 +197,7 @@ public final class NodelistParser {
         }
     }
 
-    private static Integer resolveNode(Keywords keyword, Integer nodeNumber) {
+    static Integer resolveNode(Keywords keyword, Integer nodeNumber) {
         if (keyword == Keywords.ZONE || keyword == Keywords.HOST || keyword == Keywords.REGION) {
             return 0;
         }
@@ -0,0 +1,283 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Incremental nodelist parser that is fed with {@link ByteBuffer}s instead of reading a stream.
+ *
+ * <p>Bytes are split into lines as they arrive; a line that crosses buffer boundaries is kept
+ * until its terminator is seen. Every complete entry is handed to the sink immediately, and the
+ * zone and network context is kept between calls, so a nodelist can be parsed while it is still
+ * being downloaded, e.g. on an event-loop thread. Lines end with CR, LF or CR/LF.</p>
+ *
+ * <p>Lines that lie entirely within a heap buffer are decoded straight from its backing array;
+ * only partial lines are copied.</p>
+ *
+ * <pre>{@code
+ * NodelistPushParser parser = new NodelistPushParser(entries::add);
+ * // for every received buffer
+ * parser.feed(buffer);
+ * // at the end of the stream
+ * parser.finish();
+ * }</pre>
+ *
+ * <p>A parser created with a set of {@link EntryField}s decodes only those fields of each entry,
+ * finding the others' boundaries in the raw bytes without creating Strings for them.</p>
+ *
+ * <p>A parser created by {@link #forLines(Consumer, NodelistCharset)} reports every non-comment line
+ * with its line number instead, including lines that could not be parsed.</p>
+ *
+ * <p>Instances are not thread-safe; use one parser per nodelist stream.</p>
+ */
+public final class NodelistPushParser {
+
+    private final Consumer<? super NodelistEntry> sink;
+    private final Consumer<? super NodelistLine> lineSink;
+    private final NodelistCharset charset;
+    private final ProjectedLineParser projection;
+    private final ParserUtils.ParsingContext ctx = new ParserUtils.ParsingContext();
+
+    private byte[] line = new byte[256];
+    private byte[] scratch;
+    private int length;
+    private int lineNumber;
+    private boolean afterCarriageReturn;
+    private boolean finished;
+    private boolean reportComments;
+
+    /**
+     * Creates a parser that decodes lines with the {@linkplain NodelistCharset#DEFAULT default} charset.
+     *
+     * @param sink receives entries in nodelist order
+     */
+    public NodelistPushParser(Consumer<? super NodelistEntry> sink) {
+        this(sink, NodelistCharset.DEFAULT);
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param sink    receives entries in nodelist order
+     * @param charset charset of the nodelist text
+     */
+    public NodelistPushParser(Consumer<? super NodelistEntry> sink, Charset charset) {
+        this(sink, NodelistCharset.of(charset));
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param sink    receives entries in nodelist order
+     * @param charset charset of the nodelist text
+     */
+    public NodelistPushParser(Consumer<? super NodelistEntry> sink, NodelistCharset charset) {
+        this(sink, null, charset, null);
+    }
+
+    /**
+     * Creates a parser that decodes only the selected entry fields; the others are left {@code null}.
+     * Unselected text fields are skipped without creating Strings.
+     *
+     * @param sink    receives entries in nodelist order
+     * @param charset charset of the nodelist text
+     * @param fields  fields to decode; addresses and keywords are always decoded
+     */
+    public NodelistPushParser(Consumer<? super NodelistEntry> sink, NodelistCharset charset, Set<EntryField> fields) {
+        this(sink, null, charset, fields);
+        if (fields == null) {
+            throw new IllegalArgumentException("Fields cannot be null");
+        }
+    }
+
+    private NodelistPushParser(Consumer<? super NodelistEntry> sink, Consumer<? super NodelistLine> lineSink,
+                               NodelistCharset charset, Set<EntryField> fields) {
+        if (sink == null && lineSink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        this.sink = sink;
+        this.lineSink = lineSink;
+        this.charset = charset;
+        this.projection = fields == null || fields.containsAll(EntryField.ALL) ? null
+                : new ProjectedLineParser(charset, fields);
+    }
+
+    /**
+     * Creates a parser that reports every non-comment, non-blank line together with its parsed
+     * entry, which is {@code null} for lines the parser rejects.
+     *
+     * @param sink    receives lines in nodelist order
+     * @param charset charset of the nodelist text
+     * @return the parser
+     */
+    public static NodelistPushParser forLines(Consumer<? super NodelistLine> sink, NodelistCharset charset) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        return new NodelistPushParser(null, sink, charset, null);
+    }
+
+    /**
+     * Creates a {@linkplain #forLines(Consumer, NodelistCharset) line parser} for a nodelist segment,
+     * such as a region or net segment, whose lines are not preceded by a Zone line.
+     *
+     * @param sink    receives lines in nodelist order
+     * @param charset charset of the nodelist text
+     * @param zone    zone of the lines before the segment's own Zone line, if any
+     * @return the parser
+     */
+    public static NodelistPushParser forSegmentLines(Consumer<? super NodelistLine> sink, NodelistCharset charset,
+                                                     int zone) {
+        NodelistPushParser parser = forLines(sink, charset);
+        parser.startInZone(zone);
+        return parser;
+    }
+
+    /**
+     * Sets the zone of the lines that precede the first Zone line, for parsing segments.
+     */
+    void startInZone(int zone) {
+        ctx.setCurrentZone(zone);
+        ctx.setCurrentNetwork(zone);
+        ctx.setCurrentTree(ParserUtils.ParsingContext.TreeLevel.ZONE);
+    }
+
+    /**
+     * Makes a {@linkplain #forLines line parser} report comment lines too, with a {@code null} entry.
+     */
+    void reportComments() {
+        reportComments = true;
+    }
+
+    /**
+     * Consumes all remaining bytes of the buffer, emitting every entry completed by them.
+     * The buffer's position is advanced to its limit.
+     *
+     * @param buffer next chunk of the nodelist
+     */
+    public void feed(ByteBuffer buffer) {
+        if (finished) {
+            throw new IllegalStateException("Parser is finished");
+        }
+        if (buffer.hasArray()) {
+            int from = buffer.arrayOffset() + buffer.position();
+            feed(buffer.array(), from, from + buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+        if (scratch == null) {
+            scratch = new byte[8192];
+        }
+        while (buffer.hasRemaining()) {
+            int n = Math.min(buffer.remaining(), scratch.length);
+            buffer.get(scratch, 0, n);
+            feed(scratch, 0, n);
+        }
+    }
+
+    private void feed(byte[] bytes, int from, int to) {
+        if (afterCarriageReturn && from < to) {
+            afterCarriageReturn = false;
+            if (bytes[from] == '\n') {
+                from++;
+            }
+        }
+
+        int start = from;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            endLine(bytes, start, i);
+            if (b == '\r') {
+                if (i + 1 == to) {
+                    afterCarriageReturn = true;
+                } else if (bytes[i + 1] == '\n') {
+                    i++;
+                }
+            }
+            start = i + 1;
+        }
+        append(bytes, start, to);
+    }
+
+    /**
+     * Signals the end of the nodelist, emitting the last line if it has no terminator.
+     * Further calls to {@link #feed} fail; repeated calls to this method do nothing.
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (length > 0) {
+            parse(line, 0, length);
+            length = 0;
+        }
+    }
+
+    /**
+     * Completes the pending partial line with {@code bytes[from, to)} and parses it.
+     */
+    private void endLine(byte[] bytes, int from, int to) {
+        if (length == 0) {
+            parse(bytes, from, to);
+        } else {
+            append(bytes, from, to);
+            parse(line, 0, length);
+            length = 0;
+        }
+    }
+
+    private void parse(byte[] bytes, int from, int to) {
+        if (projection == null) {
+            parse(charset.decode(bytes, from, to - from));
+            return;
+        }
+        lineNumber++;
+        NodelistEntry entry = projection.parse(bytes, from, to, ctx);
+        if (entry != null) {
+            sink.accept(entry);
+        }
+    }
+
+    private void parse(String text) {
+        lineNumber++;
+        if (ParserUtils.shouldSkipLine(text)) {
+            if (reportComments && text.startsWith(ParserUtils.COMMENT_PREFIX)) {
+                lineSink.accept(new NodelistLine(lineNumber, text, new String[]{text}, null));
+            }
+            return;
+        }
+        if (lineSink != null) {
+            String[] fields = text.split(ParserUtils.FIELD_SEPARATOR, -1);
+            lineSink.accept(new NodelistLine(lineNumber, text, fields, NodelistParser.parseFields(fields, ctx)));
+            return;
+        }
+        NodelistEntry entry = NodelistParser.parseLine(text, ctx);
+        if (entry != null) {
+            sink.accept(entry);
+        }
+    }
+
+    private void append(byte[] bytes, int from, int to) {
+        int n = to - from;
+        if (n == 0) {
+            return;
+        }
+        if (length + n > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, length + n));
+        }
+        System.arraycopy(bytes, from, line, length, n);
+        length += n;
+    }
+}
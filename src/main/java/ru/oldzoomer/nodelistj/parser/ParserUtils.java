@@ -12,15 +12,16 @@ final class ParserUtils {
     static final String COMMENT_PREFIX = ";";
     static final String EMPTY_KEYWORD_FIX = "###";
     static final String FIELD_SEPARATOR = ",";
+    static final String EOF_MARKER = "\u001A";
 
     private ParserUtils() {
     }
 
     /**
-     * Checks if the line is a comment or blank and should be skipped.
+     * Checks if the line is a comment, blank or the end-of-file marker and should be skipped.
      */
     static boolean shouldSkipLine(String line) {
-        return line.startsWith(COMMENT_PREFIX) || line.isBlank();
+        return line.startsWith(COMMENT_PREFIX) || line.isBlank() || line.equals(EOF_MARKER);
     }
 
     /**
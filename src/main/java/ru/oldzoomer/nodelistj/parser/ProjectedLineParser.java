@@ -0,0 +1,204 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Parses nodelist lines straight from their bytes, decoding only the requested {@link EntryField}s.
+ *
+ * <p>Field boundaries are found by scanning for commas, numbers are parsed from the bytes, and the
+ * keyword is matched without decoding, so unrequested fields cost no allocation. The entries are
+ * the ones {@link NodelistParser#parseLine} would produce, with unrequested fields set to {@code null}.
+ * Charsets whose ASCII range differs from ASCII are decoded as a whole and projected afterwards.</p>
+ */
+final class ProjectedLineParser {
+
+    private static final Keywords[] KEYWORDS = Keywords.values();
+    private static final byte[][] KEYWORD_BYTES = new byte[KEYWORDS.length][];
+    private static final long NO_NUMBER = Long.MIN_VALUE;
+
+    static {
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            KEYWORD_BYTES[i] = KEYWORDS[i].toString().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final NodelistCharset charset;
+    private final boolean nodeName;
+    private final boolean location;
+    private final boolean sysOpName;
+    private final boolean phone;
+    private final boolean baudRate;
+    private final boolean flags;
+    private int[] commas = new int[16];
+
+    ProjectedLineParser(NodelistCharset charset, Set<EntryField> fields) {
+        this.charset = charset;
+        this.nodeName = fields.contains(EntryField.NODE_NAME);
+        this.location = fields.contains(EntryField.LOCATION);
+        this.sysOpName = fields.contains(EntryField.SYSOP_NAME);
+        this.phone = fields.contains(EntryField.PHONE);
+        this.baudRate = fields.contains(EntryField.BAUD_RATE);
+        this.flags = fields.contains(EntryField.FLAGS);
+    }
+
+    /**
+     * Parses the line {@code bytes[from, to)}, updating the context for Zone, Region and Host lines.
+     *
+     * @return the entry, or {@code null} for comments, blank lines and malformed lines
+     */
+    NodelistEntry parse(byte[] bytes, int from, int to, ParserUtils.ParsingContext ctx) {
+        if (!charset.isAsciiCompatible()) {
+            String text = charset.decode(bytes, from, to - from);
+            if (ParserUtils.shouldSkipLine(text)) {
+                return null;
+            }
+            NodelistEntry entry = NodelistParser.parseLine(text, ctx);
+            return entry == null ? null : project(entry);
+        }
+        if (isSkipped(bytes, from, to)) {
+            return null;
+        }
+
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == ',') {
+                if (count == commas.length) {
+                    commas = Arrays.copyOf(commas, count * 2);
+                }
+                commas[count++] = i;
+            }
+        }
+        if (count + 1 < ParserUtils.MIN_FIELDS_REQUIRED) {
+            return null;
+        }
+
+        long number = parseNumber(bytes, commas[0] + 1, commas[1]);
+        if (number == NO_NUMBER) {
+            return null;
+        }
+        Keywords keyword = keyword(bytes, from, commas[0]);
+        Integer nodeNumber = (int) number;
+        NodelistParser.updateContext(ctx, keyword, nodeNumber);
+        Integer zone = ctx.getCurrentZone();
+        Integer network = ctx.getCurrentNetwork();
+        if (zone == null || network == null) {
+            return null;
+        }
+
+        long baud = parseNumber(bytes, commas[5] + 1, count > 6 ? commas[6] : to);
+        if (baud == NO_NUMBER) {
+            return null;
+        }
+
+        String[] flagValues = null;
+        if (flags) {
+            flagValues = new String[count + 1 - ParserUtils.MIN_FIELDS_REQUIRED];
+            for (int i = 0; i < flagValues.length; i++) {
+                int field = ParserUtils.MIN_FIELDS_REQUIRED + i;
+                flagValues[i] = field(bytes, field, count, to);
+            }
+        }
+
+        return new NodelistEntry(
+                zone, network, NodelistParser.resolveNode(keyword, nodeNumber), keyword,
+                nodeName ? field(bytes, 2, count, to) : null,
+                location ? field(bytes, 3, count, to) : null,
+                sysOpName ? field(bytes, 4, count, to) : null,
+                phone ? field(bytes, 5, count, to) : null,
+                baudRate ? Integer.valueOf((int) baud) : null,
+                flagValues
+        );
+    }
+
+    private NodelistEntry project(NodelistEntry entry) {
+        return new NodelistEntry(entry.zone(), entry.network(), entry.node(), entry.keywords(),
+                nodeName ? entry.nodeName() : null,
+                location ? entry.location() : null,
+                sysOpName ? entry.sysOpName() : null,
+                phone ? entry.phone() : null,
+                baudRate ? entry.baudRate() : null,
+                flags ? entry.flags() : null);
+    }
+
+    /**
+     * Decodes field {@code index} of a line whose {@code count} commas are in {@link #commas}.
+     */
+    private String field(byte[] bytes, int index, int count, int to) {
+        int start = commas[index - 1] + 1;
+        int end = index < count ? commas[index] : to;
+        return charset.decode(bytes, start, end - start);
+    }
+
+    /**
+     * Same rule as {@link ParserUtils#shouldSkipLine}: comments, whitespace-only lines and the EOF marker.
+     */
+    private static boolean isSkipped(byte[] bytes, int from, int to) {
+        if (to > from && bytes[from] == ';') {
+            return true;
+        }
+        if (to - from == 1 && bytes[from] == 0x1A) {
+            return true;
+        }
+        for (int i = from; i < to; i++) {
+            int b = bytes[i];
+            if (b != ' ' && (b < '\t' || b > '\r') && (b < 0x1C || b > 0x1F)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Keywords keyword(byte[] bytes, int from, int to) {
+        int length = to - from;
+        for (int k = 0; k < KEYWORDS.length; k++) {
+            byte[] name = KEYWORD_BYTES[k];
+            if (name.length == length && Arrays.equals(bytes, from, to, name, 0, length)) {
+                return KEYWORDS[k];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a decimal int the way {@link ParserUtils#parseInteger} does: surrounding whitespace is
+     * ignored and a sign is allowed.
+     *
+     * @return the value, or {@link #NO_NUMBER} if the field is blank, not a number or out of range
+     */
+    private static long parseNumber(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return NO_NUMBER;
+        }
+        boolean negative = bytes[from] == '-';
+        if (negative || bytes[from] == '+') {
+            from++;
+            if (from == to) {
+                return NO_NUMBER;
+            }
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_NUMBER;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return NO_NUMBER;
+            }
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NO_NUMBER : value;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.oldzoomer.nodelistj.routing;
+
+/**
+ * Fidonet address mask such as {@code 2:5020/1042}, {@code 2:5020/*}, {@code 2:*} or {@code *}.
+ *
+ * <p>Each component is either a number or {@link #ANY}. A wildcard matches the rest of the
+ * address, so {@code 2:*} is the same mask as {@code 2:*}{@code /*}.</p>
+ *
+ * @param zone    zone number or {@link #ANY}
+ * @param network network number or {@link #ANY}
+ * @param node    node number or {@link #ANY}
+ */
+public record AddressPattern(int zone, int network, int node) {
+
+    /**
+     * Wildcard component value.
+     */
+    public static final int ANY = -1;
+
+    /**
+     * Creates the mask.
+     *
+     * @throws IllegalArgumentException if a component is negative and not {@link #ANY}
+     */
+    public AddressPattern {
+        if (zone < ANY || network < ANY || node < ANY) {
+            throw new IllegalArgumentException("Address pattern component cannot be negative");
+        }
+    }
+
+    /**
+     * Parses a mask in {@code zone:network/node} form, where any component may be {@code *}.
+     *
+     * @param text mask text
+     * @return parsed mask
+     * @throws IllegalArgumentException if the text is not a valid mask
+     */
+    public static AddressPattern parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Address pattern cannot be null");
+        }
+        int colon = text.indexOf(':');
+        int slash = text.indexOf('/', colon + 1);
+        String zone = colon < 0 ? text : text.substring(0, colon);
+        String network = colon < 0 ? "*" : text.substring(colon + 1, slash < 0 ? text.length() : slash);
+        String node = slash < 0 ? "*" : text.substring(slash + 1);
+        if (colon < 0 && !zone.equals("*") || colon >= 0 && slash < 0 && !network.equals("*")) {
+            throw new IllegalArgumentException("Invalid address pattern: " + text);
+        }
+        return new AddressPattern(component(zone, text), component(network, text), component(node, text));
+    }
+
+    /**
+     * Checks whether the mask covers the address.
+     *
+     * @param zone    zone number
+     * @param network network number
+     * @param node    node number
+     * @return {@code true} if every numeric component equals the address component
+     */
+    public boolean matches(int zone, int network, int node) {
+        return (this.zone == ANY || this.zone == zone)
+                && (this.network == ANY || this.network == network)
+                && (this.node == ANY || this.node == node);
+    }
+
+    private static int component(String value, String text) {
+        if (value.equals("*")) {
+            return ANY;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 0 || number > 0xFFFF) {
+                throw new IllegalArgumentException("Invalid address pattern: " + text);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid address pattern: " + text, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (network == ANY && node == ANY) {
+            return zone == ANY ? "*" : zone + ":*";
+        }
+        return text(zone) + ":" + text(network) + "/" + text(node);
+    }
+
+    private static String text(int component) {
+        return component == ANY ? "*" : Integer.toString(component);
+    }
+}
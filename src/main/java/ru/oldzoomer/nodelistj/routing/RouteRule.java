@@ -0,0 +1,107 @@
+package ru.oldzoomer.nodelistj.routing;
+
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A netmail routing rule: destinations matching one of the patterns are sent to the target.
+ *
+ * <p>The text form follows the husky {@code route} statement:</p>
+ *
+ * <pre>{@code
+ * route 2:5020/1042 2:5020/* 2:5030/*   # via a fixed uplink
+ * route direct Hub 2:5030/*             # hubs of net 5030 directly
+ * route hub *                           # everything else via the destination's hub
+ * }</pre>
+ *
+ * <p>The target is an address, {@code direct}, {@code hub} or {@code host}. An optional nodelist
+ * keyword after the target limits the rule to entries with that keyword; plain nodes and
+ * addresses that are not listed have no keyword.</p>
+ *
+ * @param target   where matching mail goes
+ * @param keyword  keyword a destination must have, or {@code null} for any destination
+ * @param patterns destination masks
+ */
+public record RouteRule(RouteTarget target, Keywords keyword, List<AddressPattern> patterns) {
+
+    private static final String ROUTE = "route";
+
+    /**
+     * Creates the rule.
+     *
+     * @throws IllegalArgumentException if the target is {@code null} or there are no patterns
+     */
+    public RouteRule {
+        if (target == null) {
+            throw new IllegalArgumentException("Route target cannot be null");
+        }
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException("Route patterns cannot be empty");
+        }
+        patterns = List.copyOf(patterns);
+    }
+
+    /**
+     * Parses a single {@code route} statement.
+     *
+     * @param line statement text
+     * @return parsed rule
+     * @throws IllegalArgumentException if the statement is malformed
+     */
+    public static RouteRule parse(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Route statement cannot be null");
+        }
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length < 3 || !tokens[0].equalsIgnoreCase(ROUTE)) {
+            throw new IllegalArgumentException("Invalid route statement: " + line);
+        }
+        RouteTarget target = RouteTarget.parse(tokens[1]);
+        Keywords keyword = Keywords.fromString(tokens[2]);
+        int first = keyword == null ? 2 : 3;
+        if (first == tokens.length) {
+            throw new IllegalArgumentException("Invalid route statement: " + line);
+        }
+        List<AddressPattern> patterns = new ArrayList<>(tokens.length - first);
+        for (int i = first; i < tokens.length; i++) {
+            patterns.add(AddressPattern.parse(tokens[i]));
+        }
+        return new RouteRule(target, keyword, patterns);
+    }
+
+    /**
+     * Parses a rule set. Blank lines and {@code #} comments, also at the end of a line, are ignored.
+     *
+     * @param lines configuration lines
+     * @return rules in configuration order
+     * @throws IllegalArgumentException if a statement is malformed
+     */
+    public static List<RouteRule> parseAll(List<String> lines) {
+        if (lines == null) {
+            throw new IllegalArgumentException("Route statements cannot be null");
+        }
+        List<RouteRule> rules = new ArrayList<>();
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            String statement = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (!statement.isEmpty()) {
+                rules.add(parse(statement));
+            }
+        }
+        return rules;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(ROUTE).append(' ').append(target);
+        if (keyword != null) {
+            sb.append(' ').append(keyword);
+        }
+        for (AddressPattern pattern : patterns) {
+            sb.append(' ').append(pattern);
+        }
+        return sb.toString();
+    }
+}
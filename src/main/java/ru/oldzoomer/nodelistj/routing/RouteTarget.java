@@ -0,0 +1,109 @@
+package ru.oldzoomer.nodelistj.routing;
+
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+
+import java.util.Locale;
+
+/**
+ * Where a {@link RouteRule} sends the mail for a matched destination.
+ *
+ * @param kind    how the next hop is chosen
+ * @param address packed {@link AddressKey} of the next hop for {@link Kind#VIA}, otherwise {@code -1}
+ */
+public record RouteTarget(Kind kind, long address) {
+
+    /**
+     * How the next hop is chosen.
+     */
+    public enum Kind {
+        /** Deliver to the destination itself. */
+        DIRECT,
+        /** Deliver to the hub the destination is listed under, or to its host when it has no hub. */
+        HUB,
+        /** Deliver to the host of the destination's net ({@code zone:network/0}). */
+        HOST,
+        /** Deliver to a fixed address. */
+        VIA
+    }
+
+    /**
+     * Creates the target.
+     *
+     * @throws IllegalArgumentException if the kind is {@code null} or the address does not fit the kind
+     */
+    public RouteTarget {
+        if (kind == null) {
+            throw new IllegalArgumentException("Route target kind cannot be null");
+        }
+        if ((kind == Kind.VIA) != (address >= 0)) {
+            throw new IllegalArgumentException("Only VIA targets carry an address");
+        }
+    }
+
+    /**
+     * @return target delivering to the destination itself
+     */
+    public static RouteTarget direct() {
+        return new RouteTarget(Kind.DIRECT, -1);
+    }
+
+    /**
+     * @return target delivering to the destination's hub
+     */
+    public static RouteTarget hub() {
+        return new RouteTarget(Kind.HUB, -1);
+    }
+
+    /**
+     * @return target delivering to the destination's net host
+     */
+    public static RouteTarget host() {
+        return new RouteTarget(Kind.HOST, -1);
+    }
+
+    /**
+     * @param zone    next hop zone
+     * @param network next hop network
+     * @param node    next hop node
+     * @return target delivering to the given address
+     */
+    public static RouteTarget via(int zone, int network, int node) {
+        return new RouteTarget(Kind.VIA, AddressKey.of(zone, network, node));
+    }
+
+    /**
+     * Parses {@code direct}, {@code hub}, {@code host} or a {@code zone:network/node} address.
+     *
+     * @param text target text
+     * @return parsed target
+     * @throws IllegalArgumentException if the text is not a valid target
+     */
+    public static RouteTarget parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Route target cannot be null");
+        }
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "direct" -> {
+                return direct();
+            }
+            case "hub" -> {
+                return hub();
+            }
+            case "host" -> {
+                return host();
+            }
+            default -> {
+                AddressPattern address = AddressPattern.parse(text);
+                if (address.node() == AddressPattern.ANY) {
+                    throw new IllegalArgumentException("Route target must be a full address: " + text);
+                }
+                return via(address.zone(), address.network(), address.node());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.VIA ? AddressKey.toString(address) : kind.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,311 @@
+package ru.oldzoomer.nodelistj.routing;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Netmail routing rules compiled against a nodelist into an address &rarr; next-hop table.
+ *
+ * <p>Every listed address is resolved once at compile time: the first {@link RouteRule} matching
+ * it (see {@link RuleTrie}) picks the next hop, with {@code hub} and {@code host} targets resolved
+ * from the nodelist hierarchy. Routing a message to a listed address is then a binary search over
+ * parallel primitive arrays and does not allocate:</p>
+ *
+ * <pre>{@code
+ * RoutingTable table = RoutingTable.compile(RouteRule.parseAll(config), nodelist);
+ * long hop = table.nextHop(2, 5020, 1042);
+ * if (hop != RoutingTable.NO_ROUTE) {
+ *     send(message, AddressKey.toString(hop));
+ * }
+ * }</pre>
+ *
+ * <p>The table is compiled per net. {@link #recompile} compares every net of the reloaded nodelist
+ * with the previous one by its addresses and keywords, the only entry data routing depends on, and
+ * reuses the routes of unchanged nets; only nets that gained, lost or reordered nodes are resolved
+ * again.</p>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ */
+public final class RoutingTable {
+
+    /**
+     * Value returned by {@link #nextHop} when no rule matches the destination.
+     */
+    public static final long NO_ROUTE = -1;
+
+    private static final Keywords[] KEYWORDS = Keywords.values();
+    private static final byte NO_KEYWORD = -1;
+    private static final int COMPONENT_BITS = 16;
+
+    private final List<RouteRule> rules;
+    private final RuleTrie trie;
+    private final Map<Long, NetRoutes> nets;
+    private final long[] keys;
+    private final long[] hops;
+    private final int reusedNets;
+
+    private RoutingTable(List<RouteRule> rules, RuleTrie trie, List<NodelistEntry> entries,
+                         Map<Long, NetRoutes> previous) {
+        this.rules = rules;
+        this.trie = trie;
+
+        Map<Long, NetBuilder> builders = new HashMap<>();
+        for (NodelistEntry entry : entries) {
+            if (entry.zone() == null || entry.network() == null || entry.node() == null
+                    || !AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+                continue;
+            }
+            long net = ((long) entry.zone() << COMPONENT_BITS) | entry.network();
+            builders.computeIfAbsent(net, n -> new NetBuilder()).add(entry);
+        }
+
+        Map<Long, NetRoutes> compiled = new TreeMap<>();
+        int reused = 0;
+        int size = 0;
+        for (Map.Entry<Long, NetBuilder> e : builders.entrySet()) {
+            NetBuilder builder = e.getValue();
+            NetRoutes old = previous.get(e.getKey());
+            NetRoutes routes;
+            if (old != null && old.matches(builder)) {
+                routes = old;
+                reused++;
+            } else {
+                routes = resolve(builder);
+            }
+            compiled.put(e.getKey(), routes);
+            size += routes.keys.length;
+        }
+
+        // nets are visited in key order and a net key is the prefix of its addresses, so the
+        // concatenation is sorted
+        keys = new long[size];
+        hops = new long[size];
+        int offset = 0;
+        for (NetRoutes routes : compiled.values()) {
+            System.arraycopy(routes.keys, 0, keys, offset, routes.keys.length);
+            System.arraycopy(routes.hops, 0, hops, offset, routes.hops.length);
+            offset += routes.keys.length;
+        }
+        this.nets = compiled;
+        this.reusedNets = reused;
+    }
+
+    /**
+     * Compiles the rules against nodelist entries.
+     * When an address occurs more than once, the first entry wins.
+     *
+     * @param rules   routing rules in priority order
+     * @param entries nodelist entries
+     * @return compiled table
+     */
+    public static RoutingTable compile(List<RouteRule> rules, List<NodelistEntry> entries) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Route rules cannot be null");
+        }
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        List<RouteRule> copy = List.copyOf(rules);
+        return new RoutingTable(copy, new RuleTrie(copy), entries, Map.of());
+    }
+
+    /**
+     * Compiles the rules against a nodelist.
+     *
+     * @param rules    routing rules in priority order
+     * @param nodelist parsed nodelist
+     * @return compiled table
+     */
+    public static RoutingTable compile(List<RouteRule> rules, Nodelist nodelist) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        return compile(rules, nodelist.getNodelist());
+    }
+
+    /**
+     * Compiles the same rules against reloaded nodelist entries, reusing the routes of unchanged nets.
+     *
+     * @param entries reloaded nodelist entries
+     * @return new table; this table is left unchanged
+     */
+    public RoutingTable recompile(List<NodelistEntry> entries) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        return new RoutingTable(rules, trie, entries, nets);
+    }
+
+    /**
+     * Compiles the same rules against a reloaded nodelist, reusing the routes of unchanged nets.
+     *
+     * @param nodelist reloaded nodelist
+     * @return new table; this table is left unchanged
+     */
+    public RoutingTable recompile(Nodelist nodelist) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        return recompile(nodelist.getNodelist());
+    }
+
+    /**
+     * Returns the next hop for a destination.
+     *
+     * <p>Listed addresses are looked up in the compiled table. Addresses missing from the nodelist
+     * are matched against the rules as plain nodes, with {@code hub} routed to the net host.</p>
+     *
+     * @param address packed {@link AddressKey} of the destination
+     * @return packed address of the next hop, or {@link #NO_ROUTE}
+     */
+    public long nextHop(long address) {
+        int slot = Arrays.binarySearch(keys, address);
+        if (slot >= 0) {
+            return hops[slot];
+        }
+        int zone = AddressKey.zone(address);
+        int network = AddressKey.network(address);
+        int node = AddressKey.node(address);
+        return hop(trie.match(zone, network, node, null), address, hostOf(address), -1);
+    }
+
+    /**
+     * Returns the next hop for a destination.
+     *
+     * @param zone    destination zone
+     * @param network destination network
+     * @param node    destination node
+     * @return packed address of the next hop, or {@link #NO_ROUTE}, also for components out of range
+     */
+    public long nextHop(int zone, int network, int node) {
+        if (!AddressKey.isValid(zone, network, node)) {
+            return NO_ROUTE;
+        }
+        return nextHop(AddressKey.of(zone, network, node));
+    }
+
+    /**
+     * @return compiled rules in priority order
+     */
+    public List<RouteRule> rules() {
+        return rules;
+    }
+
+    /**
+     * @return number of listed addresses in the table
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return number of nets whose routes were taken over from the previous table by {@link #recompile}
+     */
+    int reusedNets() {
+        return reusedNets;
+    }
+
+    private NetRoutes resolve(NetBuilder builder) {
+        int count = builder.count;
+        long[] sorted = Arrays.copyOf(builder.keys, count);
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = i;
+        }
+        AddressKey.sort(sorted, positions, count);
+
+        // first occurrence of an address wins
+        int unique = 0;
+        long[] netKeys = new long[count];
+        long[] netHops = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (unique > 0 && netKeys[unique - 1] == sorted[i]) {
+                continue;
+            }
+            int p = positions[i];
+            long key = sorted[i];
+            byte code = builder.keywords[p];
+            Keywords keyword = code == NO_KEYWORD ? null : KEYWORDS[code];
+            int rule = trie.match(AddressKey.zone(key), AddressKey.network(key), AddressKey.node(key), keyword);
+            netKeys[unique] = key;
+            netHops[unique++] = hop(rule, key, hostOf(key), builder.hubs[p]);
+        }
+        return new NetRoutes(builder, Arrays.copyOf(netKeys, unique), Arrays.copyOf(netHops, unique));
+    }
+
+    private long hop(int rule, long destination, long host, long hub) {
+        if (rule < 0) {
+            return NO_ROUTE;
+        }
+        RouteTarget target = rules.get(rule).target();
+        return switch (target.kind()) {
+            case DIRECT -> destination;
+            case HUB -> hub >= 0 ? hub : host;
+            case HOST -> host;
+            case VIA -> target.address();
+        };
+    }
+
+    private static long hostOf(long address) {
+        return AddressKey.of(AddressKey.zone(address), AddressKey.network(address), 0);
+    }
+
+    /**
+     * Entries of one net in nodelist order, with the hub each of them is listed under.
+     */
+    private static final class NetBuilder {
+        private long[] keys = new long[8];
+        private byte[] keywords = new byte[8];
+        private long[] hubs = new long[8];
+        private int count;
+        private long hub = -1;
+
+        void add(NodelistEntry entry) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                keywords = Arrays.copyOf(keywords, count * 2);
+                hubs = Arrays.copyOf(hubs, count * 2);
+            }
+            long key = AddressKey.of(entry);
+            Keywords keyword = entry.keywords();
+            if (keyword == Keywords.HUB) {
+                hub = key;
+            } else if (keyword == Keywords.ZONE || keyword == Keywords.REGION || keyword == Keywords.HOST) {
+                hub = -1;
+            }
+            keys[count] = key;
+            keywords[count] = keyword == null ? NO_KEYWORD : (byte) keyword.ordinal();
+            hubs[count++] = hub;
+        }
+    }
+
+    /**
+     * Resolved routes of one net, sorted by address, with the entry sequence they were resolved from.
+     */
+    private static final class NetRoutes {
+        private final long[] sourceKeys;
+        private final byte[] sourceKeywords;
+        private final long[] keys;
+        private final long[] hops;
+
+        NetRoutes(NetBuilder builder, long[] keys, long[] hops) {
+            this.sourceKeys = Arrays.copyOf(builder.keys, builder.count);
+            this.sourceKeywords = Arrays.copyOf(builder.keywords, builder.count);
+            this.keys = keys;
+            this.hops = hops;
+        }
+
+        boolean matches(NetBuilder builder) {
+            return Arrays.equals(sourceKeys, 0, sourceKeys.length, builder.keys, 0, builder.count)
+                    && Arrays.equals(sourceKeywords, 0, sourceKeywords.length, builder.keywords, 0, builder.count);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.oldzoomer.nodelistj.routing;
+
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Address-range trie over the patterns of a rule set.
+ *
+ * <p>Each level branches on one address component, with a separate branch for the wildcard, so an
+ * address is matched by walking at most eight paths no matter how many rules there are. Leaves keep
+ * the indices of the rules owning the pattern in ascending order; the smallest index whose keyword
+ * filter accepts the destination wins, which is the first-match order of the rule list.</p>
+ */
+final class RuleTrie {
+
+    private static final int[] NO_RULES = new int[0];
+
+    private final Node root = new Node();
+    private final Keywords[] keywords;
+
+    RuleTrie(List<RouteRule> rules) {
+        keywords = new Keywords[rules.size()];
+        for (int i = 0; i < keywords.length; i++) {
+            RouteRule rule = rules.get(i);
+            keywords[i] = rule.keyword();
+            for (AddressPattern pattern : rule.patterns()) {
+                Node leaf = root.child(pattern.zone()).child(pattern.network()).child(pattern.node());
+                if (leaf.rules.length == 0 || leaf.rules[leaf.rules.length - 1] != i) {
+                    leaf.rules = Arrays.copyOf(leaf.rules, leaf.rules.length + 1);
+                    leaf.rules[leaf.rules.length - 1] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first rule matching the destination.
+     *
+     * @param keyword destination keyword, {@code null} for plain and unlisted nodes
+     * @return rule index, or {@code -1} if no rule matches
+     */
+    int match(int zone, int network, int node, Keywords keyword) {
+        int best = match(root, zone, network, node, 0, keyword, Integer.MAX_VALUE);
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    private int match(Node at, int zone, int network, int node, int depth, Keywords keyword, int best) {
+        if (at == null) {
+            return best;
+        }
+        if (depth == 3) {
+            for (int rule : at.rules) {
+                if (rule >= best) {
+                    break;
+                }
+                if (keywords[rule] == null || keywords[rule] == keyword) {
+                    return rule;
+                }
+            }
+            return best;
+        }
+        int component = depth == 0 ? zone : depth == 1 ? network : node;
+        best = match(at.children.get(component), zone, network, node, depth + 1, keyword, best);
+        return match(at.any, zone, network, node, depth + 1, keyword, best);
+    }
+
+    private static final class Node {
+        private final Map<Integer, Node> children = new HashMap<>();
+        private Node any;
+        private int[] rules = NO_RULES;
+
+        Node child(int component) {
+            if (component == AddressPattern.ANY) {
+                if (any == null) {
+                    any = new Node();
+                }
+                return any;
+            }
+            return children.computeIfAbsent(component, c -> new Node());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package ru.oldzoomer.nodelistj.segment;
+
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+import ru.oldzoomer.nodelistj.writer.NodelistTextWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Assembles a nodelist from segment files, as zone and region coordinators do every week.
+ *
+ * <p>Each segment starts with a Zone, Region or Host line and is cut into blocks at those lines.
+ * Segments are parsed concurrently on virtual threads; the blocks of all segments are then ordered by address: every
+ * zone is followed by the nets listed directly under it, then by its regions, each region followed
+ * by its nets. Lines within a block keep their segment order, so hubs stay with their nodes.</p>
+ *
+ * <p>A block whose Zone, Region or Host address was already supplied by an earlier segment in the
+ * list overlaps it; it is left out and reported in {@link Result#overlaps()}. Comments and lines the
+ * parser rejects are not carried into the compiled nodelist either; they are reported in
+ * {@link Result#skipped()}.</p>
+ *
+ * <pre>{@code
+ * try (FileChannel out = FileChannel.open(Path.of("NODELIST.123"), CREATE, WRITE, TRUNCATE_EXISTING)) {
+ *     SegmentCompiler.Result result = new SegmentCompiler().compile(List.of(
+ *             new SegmentCompiler.Segment(Path.of("ZONE2.123"), 2, 0),
+ *             new SegmentCompiler.Segment(Path.of("NET5020.123"), 2, 50)),
+ *             out, NodelistTextWriter.DEFAULT_TITLE, LocalDate.of(2026, 5, 3));
+ * }
+ * }</pre>
+ */
+public final class SegmentCompiler {
+
+    private final Charset charset;
+
+    /**
+     * Creates a compiler for segments in the {@linkplain NodelistCharset#DEFAULT default} charset.
+     */
+    public SegmentCompiler() {
+        this(NodelistCharset.DEFAULT.charset());
+    }
+
+    /**
+     * Creates a compiler.
+     *
+     * @param charset charset of the segments and of the compiled nodelist
+     */
+    public SegmentCompiler(Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        this.charset = charset;
+    }
+
+    /**
+     * Merges the segments and writes the compiled nodelist, with its {@code ;A} header and CRC.
+     *
+     * @param segments segment files; on overlap the earlier segment wins
+     * @param channel  target channel, written from its current position and not closed
+     * @param title    nodelist title, e.g. {@value NodelistTextWriter#DEFAULT_TITLE}
+     * @param date     nodelist date
+     * @return what was written
+     * @throws IOException if a segment cannot be read or the nodelist cannot be written
+     */
+    public Result compile(List<Segment> segments, SeekableByteChannel channel, String title, LocalDate date)
+            throws IOException {
+        if (segments == null) {
+            throw new IllegalArgumentException("Segments cannot be null");
+        }
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+
+        List<Parsed> parsed = parseAll(segments);
+
+        List<Block> blocks = new ArrayList<>();
+        List<Overlap> overlaps = new ArrayList<>();
+        List<SkippedLine> skipped = new ArrayList<>();
+        Map<Long, Block> seen = new HashMap<>();
+        for (Parsed segment : parsed) {
+            skipped.addAll(segment.skipped);
+            for (Block block : segment.blocks) {
+                Block first = seen.putIfAbsent(block.key(), block);
+                if (first == null) {
+                    blocks.add(block);
+                } else {
+                    overlaps.add(new Overlap(block.header().keywords() + " " + block.header().zone() + ":"
+                            + block.header().network(), first.segment.path(), block.segment.path()));
+                }
+            }
+        }
+        blocks.sort(Comparator.comparingInt(Block::zone)
+                .thenComparingInt(Block::region)
+                .thenComparingInt(Block::rank)
+                .thenComparingInt(Block::network));
+
+        int entryCount = 0;
+        NodelistTextWriter writer = new NodelistTextWriter(channel, title, date, charset, null);
+        try (writer) {
+            for (Block block : blocks) {
+                writer.writeAll(block.entries);
+                entryCount += block.entries.size();
+            }
+        }
+        return new Result(entryCount, writer.crc(), List.copyOf(overlaps), List.copyOf(skipped));
+    }
+
+    /**
+     * Parses each segment on its own virtual thread, since the work is mostly waiting for reads.
+     */
+    private List<Parsed> parseAll(List<Segment> segments) throws IOException {
+        List<Future<Parsed>> futures = new ArrayList<>(segments.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Segment segment : segments) {
+                futures.add(executor.submit(() -> parse(segment)));
+            }
+            List<Parsed> parsed = new ArrayList<>(futures.size());
+            for (Future<Parsed> future : futures) {
+                parsed.add(future.get());
+            }
+            return parsed;
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case IOException cause -> throw cause;
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new IOException(e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading segments");
+        }
+    }
+
+    private Parsed parse(Segment segment) throws IOException {
+        List<NodelistEntry> entries = new ArrayList<>();
+        List<SkippedLine> skipped = new ArrayList<>();
+        try (InputStream inputStream = Files.newInputStream(segment.path())) {
+            NodelistParser.parseSegment(inputStream, NodelistCharset.of(charset), segment.zone(), line -> {
+                if (line.entry() == null) {
+                    skipped.add(new SkippedLine(segment.path(), line.number(), line.text()));
+                } else {
+                    entries.add(line.entry());
+                }
+            });
+        }
+
+        List<Block> blocks = new ArrayList<>();
+        Block current = null;
+        int region = segment.region();
+        for (NodelistEntry entry : entries) {
+            Keywords keyword = entry.keywords();
+            if (keyword == Keywords.ZONE) {
+                region = 0;
+            } else if (keyword == Keywords.REGION) {
+                region = entry.network();
+            }
+            if (keyword == Keywords.ZONE || keyword == Keywords.REGION || keyword == Keywords.HOST) {
+                current = new Block(segment, region, new ArrayList<>());
+                blocks.add(current);
+            } else if (current == null) {
+                throw new IllegalArgumentException("Segment " + segment.path()
+                        + " does not start with a Zone, Region or Host line");
+            }
+            current.entries.add(entry);
+        }
+        return new Parsed(blocks, skipped);
+    }
+
+    /**
+     * A segment file.
+     *
+     * @param path   segment file
+     * @param zone   zone of the segment, used until its own Zone line if it has one
+     * @param region region that the nets at the start of the segment belong to, or {@code 0} for nets
+     *               listed directly under the zone; ignored after the segment's own Region or Zone line
+     */
+    public record Segment(Path path, int zone, int region) {
+
+        public Segment {
+            if (path == null) {
+                throw new IllegalArgumentException("Path cannot be null");
+            }
+        }
+    }
+
+    /**
+     * A block left out because its address was already supplied by another segment.
+     *
+     * @param address the Zone, Region or Host line, e.g. {@code "Host 2:5020"}
+     * @param kept    segment whose block was kept
+     * @param dropped segment whose block was left out
+     */
+    public record Overlap(String address, Path kept, Path dropped) {
+    }
+
+    /**
+     * A segment line left out of the compiled nodelist: a comment, or a line the parser rejected.
+     *
+     * @param segment segment file
+     * @param line    1-based line number in the segment
+     * @param text    line text
+     */
+    public record SkippedLine(Path segment, int line, String text) {
+    }
+
+    /**
+     * Outcome of a compilation.
+     *
+     * @param entryCount number of entries written
+     * @param crc        CRC-16 written into the header
+     * @param overlaps   blocks left out, empty if the segments did not overlap
+     * @param skipped    comments and malformed lines of the segments, in segment order
+     */
+    public record Result(int entryCount, int crc, List<Overlap> overlaps, List<SkippedLine> skipped) {
+    }
+
+    /**
+     * Blocks and skipped lines of one segment.
+     */
+    private record Parsed(List<Block> blocks, List<SkippedLine> skipped) {
+    }
+
+    /**
+     * A Zone, Region or Host line and the entries up to the next such line.
+     */
+    private record Block(Segment segment, int region, List<NodelistEntry> entries) {
+
+        private NodelistEntry header() {
+            return entries.getFirst();
+        }
+
+        private int zone() {
+            return header().zone();
+        }
+
+        private int network() {
+            return header().network();
+        }
+
+        /**
+         * Orders a zone before the nets directly under it, and a region before its nets.
+         */
+        private int rank() {
+            return header().keywords() == Keywords.HOST ? 1 : 0;
+        }
+
+        private long key() {
+            return AddressKey.of(zone(), network(), 0);
+        }
+    }
+}
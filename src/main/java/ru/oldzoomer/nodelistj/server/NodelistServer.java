@@ -0,0 +1,466 @@
+package ru.oldzoomer.nodelistj.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.writer.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded HTTP server answering nodelist queries from a shared in-memory {@link Nodelist}.
+ *
+ * <p>Built on the JDK's {@link HttpServer}; every exchange runs on its own virtual thread. All
+ * responses are UTF-8 JSON arrays in the format of {@link JsonWriter}:</p>
+ * <ul>
+ *     <li>{@code GET /node/2:5020/1042} - the entry with the address, {@code 404} if it is not listed;</li>
+ *     <li>{@code GET /search?q=moscow&limit=50} - entries whose system name, location or sysop name
+ *     contain the text, ignoring case, with spaces matching the underscores of the nodelist;</li>
+ *     <li>{@code GET /flag/IBN?limit=50} - entries carrying the flag, with or without a value.</li>
+ * </ul>
+ *
+ * <p>Successful responses are kept in a bounded cache and sent with an {@code ETag}; a request
+ * whose {@code If-None-Match} matches gets {@code 304 Not Modified}. Error responses are neither
+ * cached nor tagged. {@link #reload(Nodelist)} swaps in a new nodelist with an empty cache and new
+ * ETags, so clients never see stale data.</p>
+ *
+ * <p>The JDK server leaves Nagle's algorithm on, which stalls each small keep-alive response until
+ * the client's delayed ACK. Applications serving many such requests should start the JVM with
+ * {@code -Dsun.net.httpserver.nodelay=true}; the property is JVM-wide and read when the first
+ * {@link HttpServer} is created, so this class does not set it.</p>
+ *
+ * <pre>{@code
+ * try (NodelistServer server = new NodelistServer(nodelist, new InetSocketAddress("localhost", 8080))) {
+ *     server.start();
+ *     // ...
+ *     server.reload(new Nodelist(Path.of("NODELIST.128")));
+ * }
+ * }</pre>
+ */
+public final class NodelistServer implements AutoCloseable {
+
+    /**
+     * Default number of cached responses.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    /**
+     * Number of entries returned by search and flag queries without a {@code limit} parameter.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    private static final Pattern ADDRESS = Pattern.compile("(\\d{1,5}):(\\d{1,5})/(\\d{1,5})");
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int JSON_BUFFER_SIZE = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int cacheSize;
+    private volatile Snapshot snapshot;
+    private long generation;
+
+    /**
+     * Creates a server with the {@linkplain #DEFAULT_CACHE_SIZE default} cache size.
+     *
+     * @param nodelist nodelist to serve
+     * @param address  address to bind, port {@code 0} for an ephemeral port
+     * @throws IOException if the address cannot be bound
+     */
+    public NodelistServer(Nodelist nodelist, InetSocketAddress address) throws IOException {
+        this(nodelist, address, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a server. It accepts requests once {@linkplain #start() started}.
+     *
+     * @param nodelist  nodelist to serve
+     * @param address   address to bind, port {@code 0} for an ephemeral port
+     * @param cacheSize maximum number of cached responses, {@code 0} to disable caching
+     * @throws IOException if the address cannot be bound
+     */
+    public NodelistServer(Nodelist nodelist, InetSocketAddress address, int cacheSize) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.cacheSize = cacheSize;
+        reload(nodelist);
+
+        server = HttpServer.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/node/", exchange -> handle(exchange, NodelistServer::lookup));
+        server.createContext("/search", exchange -> handle(exchange, NodelistServer::search));
+        server.createContext("/flag/", exchange -> handle(exchange, NodelistServer::flag));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Replaces the served nodelist and drops every cached response.
+     * Requests already running finish with the previous nodelist.
+     *
+     * @param nodelist new nodelist
+     */
+    public synchronized void reload(Nodelist nodelist) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        snapshot = new Snapshot(nodelist.getNodelist(), ++generation, cacheSize);
+    }
+
+    /**
+     * @return the bound address, with the actual port
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return number of responses in the cache of the current nodelist
+     */
+    int cachedResponses() {
+        return snapshot.cache.size();
+    }
+
+    /**
+     * Stops the server, waiting for running exchanges to complete.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange, Route route) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            if (!head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            Snapshot current = snapshot;
+            URI uri = exchange.getRequestURI();
+            String key = uri.getRawPath() + '?' + uri.getRawQuery();
+            Response response = current.cache.get(key);
+            if (response == null) {
+                Result result = route.render(current, uri);
+                if (result.status != 200) {
+                    send(exchange, head, result.status, result.body);
+                    return;
+                }
+                response = current.response(result);
+                current.cache.put(key, response);
+            }
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", response.etag);
+            headers.set("Cache-Control", "no-cache");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), response.etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            send(exchange, head, 200, response.body);
+        }
+    }
+
+    private static void send(HttpExchange exchange, boolean head, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        if (head) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Result lookup(Snapshot current, URI uri) throws IOException {
+        String address = uri.getPath().substring("/node/".length());
+        Matcher matcher = ADDRESS.matcher(address);
+        if (!matcher.matches()) {
+            return Result.error(400, "Invalid address, expected zone:net/node");
+        }
+        int zone = Integer.parseInt(matcher.group(1));
+        int network = Integer.parseInt(matcher.group(2));
+        int node = Integer.parseInt(matcher.group(3));
+        NodelistEntry entry = current.find(zone, network, node);
+        if (entry == null) {
+            return Result.error(404, "Node " + zone + ":" + network + "/" + node + " is not listed");
+        }
+        return Result.ok(json(List.of(entry)));
+    }
+
+    private static Result search(Snapshot current, URI uri) throws IOException {
+        Map<String, String> query = query(uri);
+        String text = query.get("q");
+        if (text == null || text.isBlank()) {
+            return Result.error(400, "Missing search text, expected ?q=");
+        }
+        int limit = limit(query);
+        if (limit < 0) {
+            return Result.error(400, "Invalid limit");
+        }
+        String needle = text.trim().replace(' ', '_').toLowerCase(Locale.ROOT);
+        List<NodelistEntry> found = new ArrayList<>();
+        for (int i = 0; i < current.entries.size() && found.size() < limit; i++) {
+            if (current.searchText[i].contains(needle)) {
+                found.add(current.entries.get(i));
+            }
+        }
+        return Result.ok(json(found));
+    }
+
+    private static Result flag(Snapshot current, URI uri) throws IOException {
+        String flag = uri.getPath().substring("/flag/".length());
+        if (flag.isEmpty() || flag.indexOf('/') >= 0) {
+            return Result.error(400, "Invalid flag");
+        }
+        int limit = limit(query(uri));
+        if (limit < 0) {
+            return Result.error(400, "Invalid limit");
+        }
+        List<NodelistEntry> found = new ArrayList<>();
+        for (int i = 0; i < current.entries.size() && found.size() < limit; i++) {
+            if (hasFlag(current.entries.get(i), flag)) {
+                found.add(current.entries.get(i));
+            }
+        }
+        return Result.ok(json(found));
+    }
+
+    private static boolean hasFlag(NodelistEntry entry, String flag) {
+        if (entry.flags() == null) {
+            return false;
+        }
+        for (String candidate : entry.flags()) {
+            if (candidate != null && candidate.startsWith(flag)
+                    && (candidate.length() == flag.length() || candidate.charAt(flag.length()) == ':')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] json(List<NodelistEntry> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(Channels.newChannel(out), ByteBuffer.allocate(JSON_BUFFER_SIZE))) {
+            writer.writeAll(entries);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return parameters;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            parameters.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * @return the {@code limit} parameter, {@link #DEFAULT_LIMIT} if absent or {@code -1} if invalid
+     */
+    private static int limit(Map<String, String> query) {
+        String value = query.get("limit");
+        if (value == null) {
+            return DEFAULT_LIMIT;
+        }
+        try {
+            int limit = Integer.parseInt(value);
+            return limit > 0 ? limit : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        Result render(Snapshot snapshot, URI uri) throws IOException;
+    }
+
+    /**
+     * Response status and body before an ETag is assigned.
+     */
+    private record Result(int status, byte[] body) {
+
+        private static Result ok(byte[] body) {
+            return new Result(200, body);
+        }
+
+        /**
+         * @param message plain ASCII text without quotes
+         */
+        private static Result error(int status, String message) {
+            return new Result(status, ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Serialized successful response as kept in the cache.
+     */
+    private record Response(byte[] body, String etag) {
+    }
+
+    /**
+     * A served nodelist with its address index, search text and response cache.
+     */
+    private static final class Snapshot {
+        private final List<NodelistEntry> entries;
+        private final long generation;
+        private final long[] keys;
+        private final int[] ordinals;
+        private final String[] searchText;
+        private final ResponseCache cache;
+
+        private Snapshot(List<NodelistEntry> entries, long generation, int cacheSize) {
+            this.entries = entries;
+            this.generation = generation;
+            this.cache = new ResponseCache(cacheSize);
+
+            int size = entries.size();
+            long[] allKeys = new long[size];
+            int[] allOrdinals = new int[size];
+            String[] text = new String[size];
+            int indexed = 0;
+            for (int i = 0; i < size; i++) {
+                NodelistEntry entry = entries.get(i);
+                if (entry.zone() != null && entry.network() != null && entry.node() != null
+                        && AddressKey.isValid(entry.zone(), entry.network(), entry.node())) {
+                    allKeys[indexed] = AddressKey.of(entry);
+                    allOrdinals[indexed++] = i;
+                }
+                text[i] = (Objects.toString(entry.nodeName(), "") + '\n' + Objects.toString(entry.location(), "")
+                        + '\n' + Objects.toString(entry.sysOpName(), "")).toLowerCase(Locale.ROOT);
+            }
+            AddressKey.sort(allKeys, allOrdinals, indexed);
+            this.keys = Arrays.copyOf(allKeys, indexed);
+            this.ordinals = Arrays.copyOf(allOrdinals, indexed);
+            this.searchText = text;
+        }
+
+        /**
+         * @return the first entry listed with the address, or {@code null}
+         */
+        private NodelistEntry find(int zone, int network, int node) {
+            if (!AddressKey.isValid(zone, network, node)) {
+                return null;
+            }
+            long key = AddressKey.of(zone, network, node);
+            int low = 0;
+            int high = keys.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    if (keys[mid] == key) {
+                        found = mid;
+                    }
+                    high = mid - 1;
+                }
+            }
+            return found < 0 ? null : entries.get(ordinals[found]);
+        }
+
+        private Response response(Result result) {
+            CRC32 crc = new CRC32();
+            crc.update(result.body);
+            return new Response(result.body, "\"" + generation + "-" + Long.toHexString(crc.getValue()) + "\"");
+        }
+    }
+
+    /**
+     * Bounded map of request keys to responses. Lookups take no lock; once the map is full, each
+     * insertion first removes an arbitrary entry, so concurrent insertions may briefly overshoot
+     * the capacity by the number of inserting threads.
+     */
+    private static final class ResponseCache {
+        private final int capacity;
+        private final ConcurrentHashMap<String, Response> map = new ConcurrentHashMap<>();
+
+        private ResponseCache(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private Response get(String key) {
+            return map.get(key);
+        }
+
+        private void put(String key, Response response) {
+            if (capacity == 0) {
+                return;
+            }
+            if (map.size() >= capacity) {
+                Iterator<String> keys = map.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            map.putIfAbsent(key, response);
+        }
+
+        private int size() {
+            return map.size();
+        }
+    }
+}
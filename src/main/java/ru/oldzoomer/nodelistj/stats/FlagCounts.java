@@ -0,0 +1,111 @@
+package ru.oldzoomer.nodelistj.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Open-addressing hash map from flag names to {@code long} counts.
+ *
+ * <p>Flags are counted by the name before the first {@code ':'}, which is hashed and compared
+ * in place so that counting an already known flag does not allocate.</p>
+ */
+final class FlagCounts {
+
+    private String[] names;
+    private long[] counts;
+    private int size;
+
+    FlagCounts() {
+        names = new String[32];
+        counts = new long[32];
+    }
+
+    void add(String flag) {
+        add(flag, nameLength(flag), 1);
+    }
+
+    /**
+     * Checks whether a flag name already occurred earlier in the same entry, e.g. the second
+     * {@code INA} of {@code INA:a,INA:b}, so that each entry is counted once per flag.
+     */
+    static boolean isRepeated(String[] flags, int index) {
+        String flag = flags[index];
+        int length = nameLength(flag);
+        for (int i = 0; i < index; i++) {
+            String other = flags[i];
+            if (other != null && nameLength(other) == length && other.regionMatches(0, flag, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nameLength(String flag) {
+        int colon = flag.indexOf(':');
+        return colon < 0 ? flag.length() : colon;
+    }
+
+    long get(String name) {
+        int slot = slot(name, name.length());
+        return names[slot] == null ? 0 : counts[slot];
+    }
+
+    void merge(FlagCounts other) {
+        for (int i = 0; i < other.names.length; i++) {
+            if (other.names[i] != null) {
+                add(other.names[i], other.names[i].length(), other.counts[i]);
+            }
+        }
+    }
+
+    Map<String, Long> toMap() {
+        Map<String, Long> map = new TreeMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                map.put(names[i], counts[i]);
+            }
+        }
+        return map;
+    }
+
+    private void add(String flag, int length, long delta) {
+        int slot = slot(flag, length);
+        if (names[slot] == null) {
+            names[slot] = length == flag.length() ? flag : flag.substring(0, length);
+            counts[slot] = delta;
+            if (++size * 2 > names.length) {
+                rehash();
+            }
+            return;
+        }
+        counts[slot] += delta;
+    }
+
+    private int slot(String flag, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + flag.charAt(i);
+        }
+        int mask = names.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (names[slot] != null
+                && !(names[slot].length() == length && names[slot].regionMatches(0, flag, 0, length))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        String[] oldNames = names;
+        long[] oldCounts = counts;
+        names = new String[oldNames.length * 2];
+        counts = new long[oldNames.length * 2];
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int slot = slot(oldNames[i], oldNames[i].length());
+                names[slot] = oldNames[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
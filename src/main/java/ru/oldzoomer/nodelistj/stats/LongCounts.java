@@ -0,0 +1,91 @@
+package ru.oldzoomer.nodelistj.stats;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code long} counts, without boxing.
+ */
+final class LongCounts {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    LongCounts() {
+        keys = new long[16];
+        counts = new long[16];
+        Arrays.fill(keys, FREE);
+    }
+
+    void add(long key, long delta) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size * 2 > keys.length) {
+                rehash();
+            }
+            return;
+        }
+        counts[slot] += delta;
+    }
+
+    long get(long key) {
+        int slot = slot(key);
+        return keys[slot] == FREE ? 0 : counts[slot];
+    }
+
+    void merge(LongCounts other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != FREE) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the counts as a map sorted by key, with keys converted by the given function.
+     */
+    <K extends Comparable<K>> Map<K, Long> toMap(LongFunction<K> keyMapper) {
+        Map<K, Long> map = new TreeMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                map.put(keyMapper.apply(keys[i]), counts[i]);
+            }
+        }
+        return map;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
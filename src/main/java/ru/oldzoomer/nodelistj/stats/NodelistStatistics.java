@@ -0,0 +1,330 @@
+package ru.oldzoomer.nodelistj.stats;
+
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Nodelist statistics computed in a single pass.
+ *
+ * <p>{@link #compute(List, Set)} splits the nodelist at Zone, Region and Host boundaries, accumulates
+ * every requested {@link Statistic} for each part on the common fork-join pool using primitive
+ * counters, and merges the partial results. Statistics of separately computed parts (for example
+ * nodelist segments) can be combined the same way with {@link #merge(NodelistStatistics)}.</p>
+ *
+ * <p>Regions are derived from the nodelist order: entries following a Region line belong to that
+ * region until the next Region or Zone line. Entries placed directly under a zone belong to no region.
+ * Entries without a zone or net number are skipped.</p>
+ *
+ * <p>Instances are not thread-safe while being merged into.</p>
+ */
+public final class NodelistStatistics {
+
+    private static final Keywords[] KEYWORDS = Keywords.values();
+    private static final int MIN_PART_SIZE = 1024;
+
+    private final EnumSet<Statistic> statistics;
+    private long total;
+    private final long[] keywords = new long[KEYWORDS.length + 1];
+    private final LongCounts zones = new LongCounts();
+    private final LongCounts regions = new LongCounts();
+    private final LongCounts nets = new LongCounts();
+    private final LongCounts baudRates = new LongCounts();
+    private final FlagCounts flags = new FlagCounts();
+
+    /**
+     * Creates empty statistics, to be filled by {@link #merge(NodelistStatistics)}.
+     *
+     * @param statistics statistics to collect
+     */
+    public NodelistStatistics(Set<Statistic> statistics) {
+        if (statistics == null) {
+            throw new IllegalArgumentException("Statistics cannot be null");
+        }
+        this.statistics = EnumSet.noneOf(Statistic.class);
+        this.statistics.addAll(statistics);
+    }
+
+    /**
+     * Computes statistics of a nodelist.
+     *
+     * @param nodelist   nodelist
+     * @param statistics statistics to collect
+     * @return computed statistics
+     */
+    public static NodelistStatistics compute(Nodelist nodelist, Set<Statistic> statistics) {
+        if (nodelist == null) {
+            throw new IllegalArgumentException("Nodelist cannot be null");
+        }
+        return compute(nodelist.getNodelist(), statistics);
+    }
+
+    /**
+     * Computes statistics of nodelist entries, in parallel for large lists.
+     *
+     * @param entries    nodelist entries in nodelist order
+     * @param statistics statistics to collect
+     * @return computed statistics
+     */
+    public static NodelistStatistics compute(List<NodelistEntry> entries, Set<Statistic> statistics) {
+        if (entries == null) {
+            throw new IllegalArgumentException("Nodelist entries cannot be null");
+        }
+        List<Part> parts = split(entries);
+        return IntStream.range(0, parts.size())
+                .parallel()
+                .mapToObj(i -> {
+                    NodelistStatistics partial = new NodelistStatistics(statistics);
+                    partial.accumulate(entries, parts.get(i));
+                    return partial;
+                })
+                .reduce(NodelistStatistics::merge)
+                .orElseGet(() -> new NodelistStatistics(statistics));
+    }
+
+    /**
+     * Adds another result into this one.
+     *
+     * @param other statistics collected for the same set of {@link Statistic}s
+     * @return this instance
+     */
+    public NodelistStatistics merge(NodelistStatistics other) {
+        if (!statistics.equals(other.statistics)) {
+            throw new IllegalArgumentException("Cannot merge statistics " + other.statistics + " into " + statistics);
+        }
+        total += other.total;
+        for (int i = 0; i < keywords.length; i++) {
+            keywords[i] += other.keywords[i];
+        }
+        zones.merge(other.zones);
+        regions.merge(other.regions);
+        nets.merge(other.nets);
+        baudRates.merge(other.baudRates);
+        flags.merge(other.flags);
+        return this;
+    }
+
+    /**
+     * @return statistics collected by this instance
+     */
+    public Set<Statistic> statistics() {
+        return EnumSet.copyOf(statistics);
+    }
+
+    /**
+     * @return number of entries
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @param keyword keyword, or {@code null} for entries without a keyword
+     * @return number of entries with the keyword
+     */
+    public long keywordCount(Keywords keyword) {
+        require(Statistic.KEYWORDS);
+        return keywords[keyword == null ? KEYWORDS.length : keyword.ordinal()];
+    }
+
+    /**
+     * @param zone zone number
+     * @return number of entries in the zone
+     */
+    public long zoneCount(int zone) {
+        require(Statistic.ZONES);
+        return zones.get(zone);
+    }
+
+    /**
+     * @param zone   zone number
+     * @param region region number
+     * @return number of entries in the region
+     */
+    public long regionCount(int zone, int region) {
+        require(Statistic.REGIONS);
+        return AddressKey.isValid(zone, region, 0) ? regions.get(AddressKey.of(zone, region, 0)) : 0;
+    }
+
+    /**
+     * @param zone    zone number
+     * @param network network number
+     * @return number of entries in the net
+     */
+    public long netCount(int zone, int network) {
+        require(Statistic.NETS);
+        return AddressKey.isValid(zone, network, 0) ? nets.get(AddressKey.of(zone, network, 0)) : 0;
+    }
+
+    /**
+     * @param flag flag name without value (e.g. "IBN")
+     * @return number of entries carrying the flag
+     */
+    public long flagCount(String flag) {
+        require(Statistic.FLAGS);
+        return flags.get(flag);
+    }
+
+    /**
+     * @param baudRate baud rate
+     * @return number of entries with the baud rate
+     */
+    public long baudRateCount(int baudRate) {
+        require(Statistic.BAUD_RATES);
+        return baudRates.get(baudRate);
+    }
+
+    /**
+     * @return entries per zone, sorted by zone
+     */
+    public Map<Integer, Long> zoneCounts() {
+        require(Statistic.ZONES);
+        return zones.toMap(key -> (int) key);
+    }
+
+    /**
+     * @return entries per region keyed by {@code zone:region}, sorted by address
+     */
+    public Map<String, Long> regionCounts() {
+        require(Statistic.REGIONS);
+        return toTextKeys(regions);
+    }
+
+    /**
+     * @return entries per net keyed by {@code zone:net}, sorted by address
+     */
+    public Map<String, Long> netCounts() {
+        require(Statistic.NETS);
+        return toTextKeys(nets);
+    }
+
+    /**
+     * @return entries per flag name, sorted by name
+     */
+    public Map<String, Long> flagCounts() {
+        require(Statistic.FLAGS);
+        return flags.toMap();
+    }
+
+    /**
+     * @return entries per baud rate, sorted by baud rate
+     */
+    public Map<Integer, Long> baudRateCounts() {
+        require(Statistic.BAUD_RATES);
+        return baudRates.toMap(key -> (int) key);
+    }
+
+    private void accumulate(List<NodelistEntry> entries, Part part) {
+        boolean countKeywords = statistics.contains(Statistic.KEYWORDS);
+        boolean countZones = statistics.contains(Statistic.ZONES);
+        boolean countRegions = statistics.contains(Statistic.REGIONS);
+        boolean countNets = statistics.contains(Statistic.NETS);
+        boolean countFlags = statistics.contains(Statistic.FLAGS);
+        boolean countBaudRates = statistics.contains(Statistic.BAUD_RATES);
+
+        int region = part.region;
+        for (int i = part.from; i < part.to; i++) {
+            NodelistEntry entry = entries.get(i);
+            if (entry.zone() == null || entry.network() == null) {
+                continue;
+            }
+            Keywords keyword = entry.keywords();
+            int zone = entry.zone();
+            int network = entry.network();
+            if (keyword == Keywords.ZONE) {
+                region = 0;
+            } else if (keyword == Keywords.REGION) {
+                region = network;
+            }
+
+            total++;
+            if (countKeywords) {
+                keywords[keyword == null ? KEYWORDS.length : keyword.ordinal()]++;
+            }
+            if (countZones) {
+                zones.add(zone, 1);
+            }
+            if (countRegions && region > 0 && AddressKey.isValid(zone, region, 0)) {
+                regions.add(AddressKey.of(zone, region, 0), 1);
+            }
+            if (countNets && AddressKey.isValid(zone, network, 0)) {
+                nets.add(AddressKey.of(zone, network, 0), 1);
+            }
+            if (countBaudRates && entry.baudRate() != null) {
+                baudRates.add(entry.baudRate(), 1);
+            }
+            if (countFlags && entry.flags() != null) {
+                String[] entryFlags = entry.flags();
+                for (int f = 0; f < entryFlags.length; f++) {
+                    String flag = entryFlags[f];
+                    if (flag != null && !flag.isEmpty() && !FlagCounts.isRepeated(entryFlags, f)) {
+                        flags.add(flag);
+                    }
+                }
+            }
+        }
+    }
+
+    private void require(Statistic statistic) {
+        if (!statistics.contains(statistic)) {
+            throw new IllegalStateException("Statistic " + statistic + " was not collected");
+        }
+    }
+
+    private static Map<String, Long> toTextKeys(LongCounts counts) {
+        // sort by packed key first so that "2:50" precedes "2:100"
+        Map<Long, Long> byKey = counts.toMap(key -> key);
+        Map<String, Long> result = new LinkedHashMap<>();
+        byKey.forEach((key, count) -> result.put(AddressKey.zone(key) + ":" + AddressKey.network(key), count));
+        return result;
+    }
+
+    /**
+     * Splits entries into parts that start at Zone, Region or Host lines, remembering the region
+     * in effect at the start of each part.
+     */
+    private static List<Part> split(List<NodelistEntry> entries) {
+        int size = entries.size();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int target = Math.max(MIN_PART_SIZE, size / (parallelism * 4));
+
+        List<Part> parts = new ArrayList<>();
+        int from = 0;
+        int fromRegion = 0;
+        int region = 0;
+        for (int i = 0; i < size; i++) {
+            NodelistEntry entry = entries.get(i);
+            if (entry.zone() == null || entry.network() == null) {
+                continue;
+            }
+            Keywords keyword = entry.keywords();
+            boolean boundary = keyword == Keywords.ZONE || keyword == Keywords.REGION || keyword == Keywords.HOST;
+            if (boundary && i - from >= target) {
+                parts.add(new Part(from, i, fromRegion));
+                from = i;
+                fromRegion = region;
+            }
+            if (keyword == Keywords.ZONE) {
+                region = 0;
+            } else if (keyword == Keywords.REGION) {
+                region = entry.network();
+            }
+        }
+        if (from < size) {
+            parts.add(new Part(from, size, fromRegion));
+        }
+        return parts;
+    }
+
+    private record Part(int from, int to, int region) {
+    }
+}
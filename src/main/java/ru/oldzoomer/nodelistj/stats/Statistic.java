@@ -0,0 +1,19 @@
+package ru.oldzoomer.nodelistj.stats;
+
+/**
+ * Statistics that {@link NodelistStatistics} can compute.
+ */
+public enum Statistic {
+    /** Entries per keyword (Zone, Host, Hub, Pvt, Hold, Down, ...). */
+    KEYWORDS,
+    /** Entries per zone. */
+    ZONES,
+    /** Entries per region, including the region's nets. */
+    REGIONS,
+    /** Entries per net, including the net's host entry. */
+    NETS,
+    /** Entries carrying each flag, counted by flag name without value. */
+    FLAGS,
+    /** Entries per baud rate. */
+    BAUD_RATES
+}
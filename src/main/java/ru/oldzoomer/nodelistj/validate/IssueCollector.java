@@ -0,0 +1,49 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Receives the issues reported by {@link ValidationRule}s. Each issue is tagged with the name of the
+ * rule being run.
+ *
+ * <p>Every block is checked with its own collector, so instances are never shared between threads.</p>
+ */
+public final class IssueCollector {
+
+    private final List<ValidationIssue> issues = new ArrayList<>();
+    private String rule;
+
+    IssueCollector() {
+    }
+
+    /**
+     * Reports an error.
+     *
+     * @param line    offending line
+     * @param message description of the problem
+     */
+    public void error(NodelistLine line, String message) {
+        issues.add(new ValidationIssue(line.number(), ValidationIssue.Severity.ERROR, rule, message));
+    }
+
+    /**
+     * Reports a warning.
+     *
+     * @param line    offending line
+     * @param message description of the problem
+     */
+    public void warning(NodelistLine line, String message) {
+        issues.add(new ValidationIssue(line.number(), ValidationIssue.Severity.WARNING, rule, message));
+    }
+
+    void rule(String rule) {
+        this.rule = rule;
+    }
+
+    List<ValidationIssue> issues() {
+        return issues;
+    }
+}
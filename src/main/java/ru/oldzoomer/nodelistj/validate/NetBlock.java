@@ -0,0 +1,18 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+
+import java.util.List;
+
+/**
+ * A Zone, Region or Host line together with the lines that follow it up to the next such line.
+ *
+ * <p>Lines placed before the first Zone, Region or Host line form a block without a header.</p>
+ *
+ * @param zone    number of the zone in effect, or {@code 0} before the first Zone line
+ * @param network number of the zone, region or net opened by the header, or {@code 0} without a header
+ * @param header  the Zone, Region or Host line, or {@code null}
+ * @param lines   lines following the header, in nodelist order
+ */
+public record NetBlock(int zone, int network, NodelistLine header, List<NodelistLine> lines) {
+}
@@ -0,0 +1,275 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+import ru.oldzoomer.nodelistj.parser.NodelistPushParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Checks a nodelist or nodelist segment against a set of {@link ValidationRule}s, in the spirit of MakeNL.
+ *
+ * <p>The text is read once through a {@link NodelistPushParser}. Lines are grouped into
+ * {@link NetBlock}s at Zone, Region and Host lines, and batches of blocks are checked on the common
+ * fork-join pool while the rest of the input is still being read. Checks spanning the whole
+ * nodelist run on the Zone, Region and Host lines at the end. Every issue carries the line number
+ * it refers to. Segments, which start without a Zone line, are validated with
+ * {@link #validateSegment(Path, Charset, int)} and the zone they belong to.</p>
+ *
+ * <pre>{@code
+ * ValidationReport report = new NodelistValidator().validateSegment(Path.of("R50.123"), NodelistCharset.CP866.charset(), 2);
+ * report.issues().forEach(System.out::println);
+ * }</pre>
+ *
+ * <p>Instances are immutable and may validate several nodelists concurrently, provided their rules are thread-safe.</p>
+ */
+public final class NodelistValidator {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_BATCH_LINES = 1024;
+
+    private final List<ValidationRule> rules;
+
+    /**
+     * Creates a validator running every {@link StandardRule}.
+     */
+    public NodelistValidator() {
+        this(List.of(StandardRule.values()));
+    }
+
+    /**
+     * Creates a validator running the given rules in order.
+     *
+     * @param rules rules to run
+     */
+    public NodelistValidator(List<? extends ValidationRule> rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null");
+        }
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * Validates a nodelist file in the {@linkplain NodelistCharset#DEFAULT default} charset.
+     *
+     * @param path nodelist file
+     * @return the report
+     * @throws IOException if the file cannot be read
+     */
+    public ValidationReport validate(Path path) throws IOException {
+        return validate(path, NodelistCharset.DEFAULT.charset());
+    }
+
+    /**
+     * Validates a nodelist file.
+     *
+     * @param path    nodelist file
+     * @param charset charset of the nodelist text
+     * @return the report
+     * @throws IOException if the file cannot be read
+     */
+    public ValidationReport validate(Path path, Charset charset) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return validate(inputStream, NodelistCharset.of(charset));
+        }
+    }
+
+    /**
+     * Validates a nodelist in the {@linkplain NodelistCharset#DEFAULT default} charset.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @return the report
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public ValidationReport validate(InputStream inputStream) throws IOException {
+        return validate(inputStream, NodelistCharset.DEFAULT);
+    }
+
+    /**
+     * Validates a nodelist.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the nodelist text
+     * @return the report
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public ValidationReport validate(InputStream inputStream, NodelistCharset charset) throws IOException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        Run run = new Run(0);
+        return read(inputStream, NodelistPushParser.forLines(run::accept, charset), run);
+    }
+
+    /**
+     * Validates a nodelist segment file, such as a region or net segment.
+     *
+     * @param path    segment file
+     * @param charset charset of the segment text
+     * @param zone    zone of the lines before the segment's own Zone line, if any
+     * @return the report
+     * @throws IOException if the file cannot be read
+     */
+    public ValidationReport validateSegment(Path path, Charset charset, int zone) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return validateSegment(inputStream, NodelistCharset.of(charset), zone);
+        }
+    }
+
+    /**
+     * Validates a nodelist segment, such as a region or net segment, whose lines are not preceded by
+     * a Zone line. Lines before the segment's own Zone line, if any, are checked as part of the given zone.
+     *
+     * @param inputStream the source stream (not closed by this method; caller is responsible)
+     * @param charset     charset of the segment text
+     * @param zone        zone of the lines before the segment's own Zone line, if any
+     * @return the report
+     * @throws IOException if an I/O error occurs while reading
+     */
+    public ValidationReport validateSegment(InputStream inputStream, NodelistCharset charset, int zone)
+            throws IOException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        if (zone <= 0) {
+            throw new IllegalArgumentException("Zone must be positive");
+        }
+        Run run = new Run(zone);
+        return read(inputStream, NodelistPushParser.forSegmentLines(run::accept, charset, zone), run);
+    }
+
+    private static ValidationReport read(InputStream inputStream, NodelistPushParser parser, Run run)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer chunk = ByteBuffer.wrap(buffer);
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            parser.feed(chunk.clear().limit(read));
+        }
+        parser.finish();
+
+        return run.finish();
+    }
+
+    private List<ValidationIssue> checkBlocks(List<NetBlock> blocks) {
+        IssueCollector issues = new IssueCollector();
+        for (NetBlock block : blocks) {
+            for (ValidationRule rule : rules) {
+                issues.rule(rule.name());
+                rule.checkBlock(block, issues);
+            }
+        }
+        return issues.issues();
+    }
+
+    /**
+     * State of a single validation: the block being filled, the batch of completed blocks waiting
+     * to be submitted and the checks already running.
+     */
+    private final class Run {
+        private final List<NodelistLine> headers = new ArrayList<>();
+        private final List<CompletableFuture<List<ValidationIssue>>> pending = new ArrayList<>();
+
+        private List<NetBlock> batch = new ArrayList<>();
+        private int batchLines;
+        private int lineCount;
+
+        private int zone;
+        private int network;
+        private NodelistLine header;
+        private List<NodelistLine> lines = new ArrayList<>();
+
+        private Run(int zone) {
+            this.zone = zone;
+            this.network = zone;
+        }
+
+        private void accept(NodelistLine line) {
+            lineCount++;
+            Keywords keyword = Keywords.fromString(line.fields()[0]);
+            if (keyword != Keywords.ZONE && keyword != Keywords.REGION && keyword != Keywords.HOST) {
+                lines.add(line);
+                return;
+            }
+
+            closeBlock();
+            headers.add(line);
+            header = line;
+            network = number(line);
+            if (keyword == Keywords.ZONE) {
+                zone = network;
+            }
+        }
+
+        private void closeBlock() {
+            if (header != null || !lines.isEmpty()) {
+                batch.add(new NetBlock(zone, network, header, lines));
+                batchLines += lines.size() + 1;
+                lines = new ArrayList<>();
+            }
+            if (batchLines >= MIN_BATCH_LINES) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            List<NetBlock> blocks = batch;
+            pending.add(CompletableFuture.supplyAsync(() -> checkBlocks(blocks)));
+            batch = new ArrayList<>();
+            batchLines = 0;
+        }
+
+        private ValidationReport finish() {
+            closeBlock();
+            if (!batch.isEmpty()) {
+                submit();
+            }
+
+            IssueCollector headerIssues = new IssueCollector();
+            for (ValidationRule rule : rules) {
+                headerIssues.rule(rule.name());
+                rule.checkHeaders(headers, headerIssues);
+            }
+
+            List<ValidationIssue> issues = new ArrayList<>(headerIssues.issues());
+            try {
+                for (CompletableFuture<List<ValidationIssue>> future : pending) {
+                    issues.addAll(future.join());
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            issues.sort(Comparator.comparingInt(ValidationIssue::line));
+            return new ValidationReport(lineCount, issues);
+        }
+
+        private static int number(NodelistLine line) {
+            String[] fields = line.fields();
+            try {
+                return fields.length > 1 ? Integer.parseInt(fields[1].trim()) : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Built-in nodelist checks, modelled on the ones MakeNL applies to nodelist segments.
+ */
+public enum StandardRule implements ValidationRule {
+
+    /**
+     * Lines must have at least seven fields, a known keyword and a node number in {@code 0..32767}.
+     */
+    MALFORMED_LINE {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            forEachLine(block, line -> {
+                String[] fields = line.fields();
+                if (fields.length < FIELD_COUNT) {
+                    issues.error(line, "Expected at least " + FIELD_COUNT + " fields, found " + fields.length);
+                    return;
+                }
+                if (!fields[0].isEmpty() && Keywords.fromString(fields[0]) == null) {
+                    issues.error(line, "Unknown keyword '" + fields[0] + "'");
+                }
+                Integer number = parseInteger(fields[1]);
+                if (number == null) {
+                    issues.error(line, "Node number '" + fields[1] + "' is not a number");
+                } else if (number < 0 || number > MAX_NUMBER) {
+                    issues.error(line, "Number " + number + " is out of range 0-" + MAX_NUMBER);
+                }
+            });
+        }
+    },
+
+    /**
+     * The baud rate field must be a positive number.
+     */
+    BAUD_RATE {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            forEachLine(block, line -> {
+                if (line.fields().length < FIELD_COUNT) {
+                    return;
+                }
+                String value = line.fields()[6];
+                Integer baudRate = parseInteger(value);
+                if (baudRate == null) {
+                    issues.error(line, "Baud rate '" + value + "' is not a number");
+                } else if (baudRate <= 0) {
+                    issues.error(line, "Baud rate " + baudRate + " is not positive");
+                }
+            });
+        }
+    },
+
+    /**
+     * Name, location, sysop and phone fields must be present, contain no spaces and fit their
+     * limits ({@value #MAX_NAME_LENGTH}, {@value #MAX_LOCATION_LENGTH}, {@value #MAX_SYSOP_LENGTH} and
+     * {@value #MAX_PHONE_LENGTH} characters), and lines should not be longer than
+     * {@value #MAX_LINE_LENGTH} characters.
+     */
+    FIELD_LENGTH {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            forEachLine(block, line -> {
+                if (line.text().length() > MAX_LINE_LENGTH) {
+                    issues.warning(line, "Line is " + line.text().length() + " characters long, the limit is "
+                            + MAX_LINE_LENGTH);
+                }
+                String[] fields = line.fields();
+                for (int i = 2; i < Math.min(fields.length, FIELD_COUNT - 1); i++) {
+                    if (fields[i].isEmpty()) {
+                        issues.error(line, "Empty " + FIELD_NAMES[i] + " field");
+                    } else if (containsWhitespace(fields[i])) {
+                        issues.error(line, "The " + FIELD_NAMES[i] + " field contains spaces");
+                    } else if (fields[i].length() > FIELD_LIMITS[i]) {
+                        issues.error(line, "The " + FIELD_NAMES[i] + " field is " + fields[i].length()
+                                + " characters long, the limit is " + FIELD_LIMITS[i]);
+                    }
+                }
+            });
+        }
+    },
+
+    /**
+     * Flags must not be empty or contain spaces; flags not defined by FTS-5001 are reported as
+     * warnings. Everything after the {@code U} flag is a user flag and is not checked against the list.
+     */
+    FLAGS {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            forEachLine(block, line -> {
+                String[] fields = line.fields();
+                boolean userFlags = false;
+                for (int i = FIELD_COUNT; i < fields.length; i++) {
+                    String flag = fields[i];
+                    if (flag.isEmpty()) {
+                        issues.error(line, "Empty flag");
+                    } else if (containsWhitespace(flag)) {
+                        issues.error(line, "Flag '" + flag + "' contains spaces");
+                    } else if (flag.equals(USER_FLAG)) {
+                        userFlags = true;
+                    } else if (!userFlags && !isKnownFlag(flag)) {
+                        issues.warning(line, "Unknown flag '" + flag + "'");
+                    }
+                }
+            });
+        }
+    },
+
+    /**
+     * A Hub line should be followed by at least one node before the next Hub or the end of the net.
+     */
+    HUB_WITHOUT_MEMBERS {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            List<NodelistLine> lines = block.lines();
+            for (int i = 0; i < lines.size(); i++) {
+                NodelistLine line = lines.get(i);
+                if (keyword(line) == Keywords.HUB
+                        && (i + 1 == lines.size() || keyword(lines.get(i + 1)) == Keywords.HUB)) {
+                    issues.warning(line, "Hub " + line.fields()[1] + " has no member nodes");
+                }
+            }
+        }
+    },
+
+    /**
+     * Every address may be listed only once.
+     */
+    DUPLICATE_ADDRESS {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            Map<Integer, NodelistLine> seen = new HashMap<>();
+            forEachLine(block, line -> {
+                NodelistEntry entry = line.entry();
+                if (entry == null) {
+                    return;
+                }
+                NodelistLine first = seen.putIfAbsent(entry.node(), line);
+                if (first != null) {
+                    issues.error(line, "Duplicate address " + entry.zone() + ":" + entry.network() + "/" + entry.node()
+                            + ", first listed on line " + first.number());
+                }
+            });
+        }
+
+        @Override
+        public void checkHeaders(List<NodelistLine> headers, IssueCollector issues) {
+            Map<Long, NodelistLine> seen = new HashMap<>();
+            for (NodelistLine header : headers) {
+                NodelistEntry entry = header.entry();
+                if (entry == null || !AddressKey.isValid(entry.zone(), entry.network(), 0)) {
+                    continue;
+                }
+                NodelistLine first = seen.putIfAbsent(AddressKey.of(entry.zone(), entry.network(), 0), header);
+                if (first != null) {
+                    issues.error(header, "Duplicate " + entry.keywords() + " " + entry.zone() + ":" + entry.network()
+                            + ", first listed on line " + first.number());
+                }
+            }
+        }
+    },
+
+    /**
+     * Entries must follow a Zone line, zones must be listed in ascending order and regions in
+     * ascending order within their zone. Hosts out of ascending order within their region are
+     * reported as warnings.
+     */
+    ORDERING {
+        @Override
+        public void checkBlock(NetBlock block, IssueCollector issues) {
+            if (block.zone() == 0) {
+                forEachLine(block, line -> issues.error(line, "Entry before the first Zone line"));
+            }
+        }
+
+        @Override
+        public void checkHeaders(List<NodelistLine> headers, IssueCollector issues) {
+            int zone = 0;
+            int region = 0;
+            int host = 0;
+            for (NodelistLine header : headers) {
+                NodelistEntry entry = header.entry();
+                if (entry == null) {
+                    continue;
+                }
+                switch (entry.keywords()) {
+                    case ZONE -> {
+                        if (entry.zone() <= zone) {
+                            issues.error(header, "Zone " + entry.zone() + " follows zone " + zone);
+                        }
+                        zone = entry.zone();
+                        region = 0;
+                        host = 0;
+                    }
+                    case REGION -> {
+                        if (entry.network() <= region) {
+                            issues.error(header, "Region " + entry.network() + " follows region " + region);
+                        }
+                        region = entry.network();
+                        host = 0;
+                    }
+                    default -> {
+                        if (entry.network() <= host) {
+                            issues.warning(header, "Host " + entry.network() + " follows host " + host);
+                        }
+                        host = entry.network();
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * Longest line allowed by FTS-5000.
+     */
+    public static final int MAX_LINE_LENGTH = 157;
+
+    /**
+     * Longest system name accepted by {@link #FIELD_LENGTH}.
+     */
+    public static final int MAX_NAME_LENGTH = 48;
+
+    /**
+     * Longest location accepted by {@link #FIELD_LENGTH}.
+     */
+    public static final int MAX_LOCATION_LENGTH = 48;
+
+    /**
+     * Longest sysop name accepted by {@link #FIELD_LENGTH}.
+     */
+    public static final int MAX_SYSOP_LENGTH = 36;
+
+    /**
+     * Longest phone field accepted by {@link #FIELD_LENGTH}.
+     */
+    public static final int MAX_PHONE_LENGTH = 32;
+
+    private static final int FIELD_COUNT = 7;
+    private static final int MAX_NUMBER = 32767;
+    private static final String USER_FLAG = "U";
+    private static final String[] FIELD_NAMES = {"keyword", "number", "system name", "location", "sysop name", "phone"};
+    private static final int[] FIELD_LIMITS = {0, 0, MAX_NAME_LENGTH, MAX_LOCATION_LENGTH, MAX_SYSOP_LENGTH,
+            MAX_PHONE_LENGTH};
+
+    // FTS-5001 flags, including the assigned Gx gateway flags; Txy availability and #hh/!hh mail hours
+    // are matched by pattern
+    private static final Set<String> KNOWN_FLAGS = Set.of(
+            "CM", "ICM", "MO", "LO", "MN",
+            "XA", "XB", "XC", "XP", "XR", "XW", "XX",
+            "V21", "V22", "V22B", "V29", "V32", "V32B", "V32T", "V33", "V34", "V42", "V42B",
+            "V90C", "V90S", "X2C", "X2S", "MNP", "H96", "HST", "H14", "H16", "MAX", "PEP", "CSP",
+            "ZYX", "VFC", "Z19", "ISDN", "V110L", "V110H", "V120L", "V120H", "X75",
+            "IBN", "IFC", "IFT", "ITN", "IVM", "ITX", "IUC", "IMI", "ISE", "IEM", "INA", "IP", "INO4",
+            "EMA", "EVY", "PING", "TRACE", "RPK", "NPK", "ENC", "NC", "NEC", "REC", "SDS", "SMH", "CDP",
+            "GUUCP");
+
+    private static void forEachLine(NetBlock block, Consumer<NodelistLine> action) {
+        if (block.header() != null) {
+            action.accept(block.header());
+        }
+        block.lines().forEach(action);
+    }
+
+    private static Keywords keyword(NodelistLine line) {
+        return Keywords.fromString(line.fields()[0]);
+    }
+
+    private static boolean isKnownFlag(String flag) {
+        int colon = flag.indexOf(':');
+        String name = colon < 0 ? flag : flag.substring(0, colon);
+        if (KNOWN_FLAGS.contains(name)) {
+            return true;
+        }
+        if (name.length() == 3 && name.charAt(0) == 'T') {
+            return isHourLetter(name.charAt(1)) && isHourLetter(name.charAt(2));
+        }
+        if (name.length() == 3 && (name.charAt(0) == '#' || name.charAt(0) == '!')) {
+            return Character.isDigit(name.charAt(1)) && Character.isDigit(name.charAt(2));
+        }
+        return false;
+    }
+
+    /**
+     * Reads a numeric field the way the parser does, ignoring surrounding whitespace.
+     */
+    private static Integer parseInteger(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isHourLetter(char c) {
+        return (c >= 'A' && c <= 'X') || (c >= 'a' && c <= 'x');
+    }
+
+    private static boolean containsWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.oldzoomer.nodelistj.validate;
+
+/**
+ * A problem found by a {@link ValidationRule}.
+ *
+ * @param line     1-based line number in the nodelist text
+ * @param severity severity of the problem
+ * @param rule     name of the rule that reported it
+ * @param message  human-readable description
+ */
+public record ValidationIssue(int line, Severity severity, String rule, String message) {
+
+    /**
+     * Severity of a validation issue.
+     */
+    public enum Severity {
+        /** The line violates the nodelist format and must be fixed before the nodelist is published. */
+        ERROR,
+        /** The line is accepted but probably not what was intended. */
+        WARNING
+    }
+
+    @Override
+    public String toString() {
+        return "line " + line + ": " + severity + " [" + rule + "] " + message;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import java.util.List;
+
+/**
+ * Result of a {@link NodelistValidator} run.
+ */
+public final class ValidationReport {
+
+    private final int lineCount;
+    private final List<ValidationIssue> issues;
+
+    ValidationReport(int lineCount, List<ValidationIssue> issues) {
+        this.lineCount = lineCount;
+        this.issues = List.copyOf(issues);
+    }
+
+    /**
+     * @return number of non-comment lines checked
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return all issues ordered by line number
+     */
+    public List<ValidationIssue> issues() {
+        return issues;
+    }
+
+    /**
+     * @param severity severity to select
+     * @return issues of the given severity ordered by line number
+     */
+    public List<ValidationIssue> issues(ValidationIssue.Severity severity) {
+        return issues.stream().filter(issue -> issue.severity() == severity).toList();
+    }
+
+    /**
+     * @return number of errors
+     */
+    public long errorCount() {
+        return issues.stream().filter(issue -> issue.severity() == ValidationIssue.Severity.ERROR).count();
+    }
+
+    /**
+     * @return number of warnings
+     */
+    public long warningCount() {
+        return issues.size() - errorCount();
+    }
+
+    /**
+     * @return {@code true} if no errors were found; warnings are allowed
+     */
+    public boolean isValid() {
+        return errorCount() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationReport{lines=" + lineCount + ", errors=" + errorCount() + ", warnings=" + warningCount() + '}';
+    }
+}
@@ -0,0 +1,42 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+
+import java.util.List;
+
+/**
+ * A check run by {@link NodelistValidator}.
+ *
+ * <p>{@link #checkBlock} is called once for every {@link NetBlock}, concurrently for different blocks,
+ * so implementations must be stateless or thread-safe. Checks that span the whole nodelist, such as
+ * the order of zones and nets, are done in {@link #checkHeaders}, which sees every Zone, Region and
+ * Host line once the input has been read.</p>
+ *
+ * <p>{@link StandardRule} provides the built-in checks; custom rules can be passed to the validator
+ * alongside them.</p>
+ */
+public interface ValidationRule {
+
+    /**
+     * @return rule name recorded in the issues it reports
+     */
+    String name();
+
+    /**
+     * Checks the lines of a single block.
+     *
+     * @param block  block to check
+     * @param issues receives the problems found
+     */
+    default void checkBlock(NetBlock block, IssueCollector issues) {
+    }
+
+    /**
+     * Checks the Zone, Region and Host lines of the whole nodelist.
+     *
+     * @param headers Zone, Region and Host lines in nodelist order
+     * @param issues  receives the problems found
+     */
+    default void checkHeaders(List<NodelistLine> headers, IssueCollector issues) {
+    }
+}
@@ -0,0 +1,208 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reusable output buffer in front of a {@link WritableByteChannel}.
+ *
+ * <p>Values are encoded straight into the buffer, which is drained to the channel whenever it fills
+ * up. An optional {@link Crc16} is updated with every byte handed to the channel.</p>
+ */
+final class ChannelSink {
+
+    static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[11];
+    private Crc16 crc;
+    private int crcFrom;
+    private long written;
+
+    private CharsetEncoder encoder;
+    private CharBuffer encoderInput;
+
+    ChannelSink(WritableByteChannel channel, ByteBuffer buffer) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (buffer == null || buffer.capacity() < 16) {
+            throw new IllegalArgumentException("Buffer must hold at least 16 bytes");
+        }
+        this.channel = channel;
+        this.buffer = buffer.clear();
+    }
+
+    /**
+     * Starts checksumming the bytes written from now on.
+     */
+    void startCrc(Crc16 crc) {
+        this.crc = crc;
+        this.crcFrom = buffer.position();
+    }
+
+    /**
+     * Stops checksumming; bytes written afterwards are not included.
+     */
+    void stopCrc() {
+        if (crc != null) {
+            crc.update(buffer, crcFrom, buffer.position());
+            crc = null;
+        }
+    }
+
+    /**
+     * Selects the charset used by {@link #putEncoded(String)}.
+     */
+    void encoder(CharsetEncoder encoder) {
+        this.encoder = encoder
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.encoderInput = CharBuffer.allocate(2);
+    }
+
+    void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put(b);
+    }
+
+    void put(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    /**
+     * Writes a decimal integer without allocating.
+     */
+    void putInt(int value) throws IOException {
+        long v = value;
+        if (v < 0) {
+            put((byte) '-');
+            v = -v;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        for (int i = pos; i < digits.length; i++) {
+            put(digits[i]);
+        }
+    }
+
+    /**
+     * Writes a string that is known to be US-ASCII.
+     */
+    void putAscii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            put((byte) s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a string in UTF-8.
+     */
+    void putUtf8(String s) throws IOException {
+        for (int i = 0; i < s.length(); ) {
+            i += putUtf8(s, i);
+        }
+    }
+
+    /**
+     * Writes the character at {@code index} in UTF-8, combining a surrogate pair.
+     *
+     * @return number of chars consumed, 1 or 2
+     */
+    int putUtf8(String s, int index) throws IOException {
+        char c = s.charAt(index);
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            put((byte) (0xC0 | (c >> 6)));
+            put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && index + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(index + 1));
+            put((byte) (0xF0 | (cp >> 18)));
+            put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            put((byte) (0x80 | (cp & 0x3F)));
+            return 2;
+        } else if (Character.isSurrogate(c)) {
+            put((byte) '?');
+        } else {
+            put((byte) (0xE0 | (c >> 12)));
+            put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            put((byte) (0x80 | (c & 0x3F)));
+        }
+        return 1;
+    }
+
+    /**
+     * Writes a string in the charset selected by {@link #encoder}; ASCII characters bypass the encoder.
+     */
+    void putEncoded(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                put((byte) c);
+                continue;
+            }
+            encoderInput.clear();
+            encoderInput.put(c);
+            if (Character.isHighSurrogate(c) && i + 1 < s.length()) {
+                encoderInput.put(s.charAt(++i));
+            }
+            encoderInput.flip();
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(encoderInput, buffer, true);
+                if (result.isOverflow()) {
+                    drain();
+                    continue;
+                }
+                break;
+            }
+            if (encoder.flush(buffer).isOverflow()) {
+                drain();
+                encoder.flush(buffer);
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     */
+    void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * @return number of bytes handed to the channel or buffered so far
+     */
+    long written() {
+        return written + buffer.position();
+    }
+
+    private void drain() throws IOException {
+        if (crc != null) {
+            crc.update(buffer, crcFrom, buffer.position());
+        }
+        buffer.flip();
+        written += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        crcFrom = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Table-driven CRC-16 with the CCITT polynomial {@code 0x1021} and initial value {@code 0},
+ * as used for the nodelist checksum on the {@code ;A} header line.
+ *
+ * <p>The nodelist CRC covers every byte after the first line, including the CR/LF line
+ * terminators and excluding the trailing end-of-file character.</p>
+ */
+public final class Crc16 {
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private int value;
+
+    /**
+     * Updates the checksum with a single byte.
+     *
+     * @param b byte value
+     */
+    public void update(int b) {
+        value = ((value << 8) ^ TABLE[((value >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+    }
+
+    /**
+     * Updates the checksum with a range of an array.
+     *
+     * @param bytes  source array
+     * @param offset first byte
+     * @param length number of bytes
+     */
+    public void update(byte[] bytes, int offset, int length) {
+        int crc = value;
+        for (int i = offset; i < offset + length; i++) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+        }
+        value = crc;
+    }
+
+    /**
+     * Updates the checksum with a range of a buffer, without changing its position.
+     *
+     * @param buffer source buffer
+     * @param from   first index
+     * @param to     index after the last byte
+     */
+    public void update(ByteBuffer buffer, int from, int to) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + from, to - from);
+            return;
+        }
+        int crc = value;
+        for (int i = from; i < to; i++) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ buffer.get(i)) & 0xFF]) & 0xFFFF;
+        }
+        value = crc;
+    }
+
+    /**
+     * @return current checksum value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Resets the checksum to its initial value.
+     */
+    public void reset() {
+        value = 0;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes entries as RFC 4180 CSV in UTF-8 with a header row.
+ *
+ * <p>Columns are {@code zone,network,node,keyword,nodeName,location,sysOpName,phone,baudRate,flags};
+ * the flags of an entry are joined with commas into a single quoted field.</p>
+ */
+public final class CsvWriter extends EntryWriter {
+
+    static final String HEADER = "zone,network,node,keyword,nodeName,location,sysOpName,phone,baudRate,flags\r\n";
+
+    private boolean headerWritten;
+
+    /**
+     * @param channel target channel
+     */
+    public CsvWriter(WritableByteChannel channel) {
+        this(channel, null);
+    }
+
+    /**
+     * @param channel target channel
+     * @param buffer  reusable output buffer, or {@code null} to allocate one
+     */
+    public CsvWriter(WritableByteChannel channel, ByteBuffer buffer) {
+        super(channel, buffer);
+    }
+
+    @Override
+    void writeEntry(NodelistEntry entry) throws IOException {
+        writeHeader();
+        number(entry.zone());
+        sink.put((byte) ',');
+        number(entry.network());
+        sink.put((byte) ',');
+        number(entry.node());
+        sink.put((byte) ',');
+        if (entry.keywords() != null) {
+            sink.putAscii(entry.keywords().toString());
+        }
+        text(entry.nodeName());
+        text(entry.location());
+        text(entry.sysOpName());
+        text(entry.phone());
+        sink.put((byte) ',');
+        number(entry.baudRate());
+        sink.put((byte) ',');
+        flags(entry.flags());
+        sink.put((byte) '\r');
+        sink.put((byte) '\n');
+    }
+
+    @Override
+    void finish() throws IOException {
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            sink.putAscii(HEADER);
+            headerWritten = true;
+        }
+    }
+
+    private void number(Integer value) throws IOException {
+        if (value != null) {
+            sink.putInt(value);
+        }
+    }
+
+    private void text(String value) throws IOException {
+        sink.put((byte) ',');
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            sink.putUtf8(value);
+            return;
+        }
+        sink.put((byte) '"');
+        quoted(value);
+        sink.put((byte) '"');
+    }
+
+    private void flags(String[] flags) throws IOException {
+        if (flags == null || flags.length == 0) {
+            return;
+        }
+        boolean quote = flags.length > 1;
+        for (String flag : flags) {
+            quote |= flag != null && needsQuotes(flag);
+        }
+        if (quote) {
+            sink.put((byte) '"');
+        }
+        for (int i = 0; i < flags.length; i++) {
+            if (i > 0) {
+                sink.put((byte) ',');
+            }
+            if (flags[i] != null) {
+                quoted(flags[i]);
+            }
+        }
+        if (quote) {
+            sink.put((byte) '"');
+        }
+    }
+
+    /**
+     * Writes a value with embedded quotes doubled; the caller writes the surrounding quotes if needed.
+     */
+    private void quoted(String value) throws IOException {
+        for (int i = 0; i < value.length(); ) {
+            if (value.charAt(i) == '"') {
+                sink.put((byte) '"');
+            }
+            i += sink.putUtf8(value, i);
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
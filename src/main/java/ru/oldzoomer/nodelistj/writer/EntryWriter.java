@@ -0,0 +1,99 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streaming serializer of {@link NodelistEntry} records into a {@link WritableByteChannel}.
+ *
+ * <p>Fields are encoded straight into a reusable {@link ByteBuffer} that is drained to the channel
+ * when it fills up, so writing an entry does not build intermediate strings. {@link #close()} completes
+ * the output and flushes it, but does not close the channel; the caller is responsible for it.</p>
+ */
+public abstract sealed class EntryWriter implements Closeable permits NodelistTextWriter, CsvWriter, JsonWriter {
+
+    final ChannelSink sink;
+    private boolean closed;
+
+    EntryWriter(WritableByteChannel channel, ByteBuffer buffer) {
+        this.sink = new ChannelSink(channel, buffer == null ? ByteBuffer.allocate(ChannelSink.DEFAULT_CAPACITY) : buffer);
+    }
+
+    /**
+     * Writes a single entry.
+     *
+     * @param entry entry to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public final void write(NodelistEntry entry) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (entry == null) {
+            throw new IllegalArgumentException("Entry cannot be null");
+        }
+        writeEntry(entry);
+    }
+
+    /**
+     * Writes entries in iteration order.
+     *
+     * @param entries entries to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public final void writeAll(Iterable<NodelistEntry> entries) throws IOException {
+        for (NodelistEntry entry : entries) {
+            write(entry);
+        }
+    }
+
+    /**
+     * Writes buffered bytes to the channel.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void flush() throws IOException {
+        sink.flush();
+    }
+
+    /**
+     * @return number of bytes written so far, including buffered ones
+     */
+    public long bytesWritten() {
+        return sink.written();
+    }
+
+    /**
+     * Completes the output and flushes it. The channel stays open.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    @Override
+    public final void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        finish();
+        sink.flush();
+        afterFlush();
+    }
+
+    abstract void writeEntry(NodelistEntry entry) throws IOException;
+
+    /**
+     * Writes trailing output before the final flush.
+     */
+    void finish() throws IOException {
+    }
+
+    /**
+     * Runs after the final flush.
+     */
+    void afterFlush() throws IOException {
+    }
+}
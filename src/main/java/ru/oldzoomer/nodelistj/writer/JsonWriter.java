@@ -0,0 +1,115 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes entries as a UTF-8 JSON array of objects.
+ *
+ * <p>Each object has the fields {@code zone}, {@code network}, {@code node}, {@code keyword},
+ * {@code nodeName}, {@code location}, {@code sysOpName}, {@code phone}, {@code baudRate} and
+ * {@code flags}; missing values are written as {@code null}.</p>
+ */
+public final class JsonWriter extends EntryWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private boolean started;
+
+    /**
+     * @param channel target channel
+     */
+    public JsonWriter(WritableByteChannel channel) {
+        this(channel, null);
+    }
+
+    /**
+     * @param channel target channel
+     * @param buffer  reusable output buffer, or {@code null} to allocate one
+     */
+    public JsonWriter(WritableByteChannel channel, ByteBuffer buffer) {
+        super(channel, buffer);
+    }
+
+    @Override
+    void writeEntry(NodelistEntry entry) throws IOException {
+        sink.put((byte) (started ? ',' : '['));
+        started = true;
+        sink.putAscii("{\"zone\":");
+        number(entry.zone());
+        sink.putAscii(",\"network\":");
+        number(entry.network());
+        sink.putAscii(",\"node\":");
+        number(entry.node());
+        sink.putAscii(",\"keyword\":");
+        string(entry.keywords() == null ? null : entry.keywords().toString());
+        sink.putAscii(",\"nodeName\":");
+        string(entry.nodeName());
+        sink.putAscii(",\"location\":");
+        string(entry.location());
+        sink.putAscii(",\"sysOpName\":");
+        string(entry.sysOpName());
+        sink.putAscii(",\"phone\":");
+        string(entry.phone());
+        sink.putAscii(",\"baudRate\":");
+        number(entry.baudRate());
+        sink.putAscii(",\"flags\":");
+        if (entry.flags() == null) {
+            sink.putAscii("null");
+        } else {
+            sink.put((byte) '[');
+            for (int i = 0; i < entry.flags().length; i++) {
+                if (i > 0) {
+                    sink.put((byte) ',');
+                }
+                string(entry.flags()[i]);
+            }
+            sink.put((byte) ']');
+        }
+        sink.put((byte) '}');
+    }
+
+    @Override
+    void finish() throws IOException {
+        if (!started) {
+            sink.put((byte) '[');
+        }
+        sink.put((byte) ']');
+    }
+
+    private void number(Integer value) throws IOException {
+        if (value == null) {
+            sink.putAscii("null");
+        } else {
+            sink.putInt(value);
+        }
+    }
+
+    private void string(String value) throws IOException {
+        if (value == null) {
+            sink.putAscii("null");
+            return;
+        }
+        sink.put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sink.put((byte) '\\');
+                sink.put((byte) c);
+                i++;
+            } else if (c < 0x20) {
+                sink.putAscii("\\u00");
+                sink.put(HEX[c >> 4]);
+                sink.put(HEX[c & 0xF]);
+                i++;
+            } else {
+                i += sink.putUtf8(value, i);
+            }
+        }
+        sink.put((byte) '"');
+    }
+}
@@ -0,0 +1,223 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes entries back in the canonical nodelist text format, with CR/LF line endings.
+ *
+ * <p>The CRC-16 of the written text is computed on the fly. When created for a
+ * {@link SeekableByteChannel} with a title and date, the writer produces a complete nodelist file:
+ * it reserves the {@code ;A} header line, fills in the CRC of everything after it when closed and
+ * terminates the file with an end-of-file character ({@code 0x1A}), which the CRC does not cover.</p>
+ *
+ * <p>Strings are encoded in the given charset, {@linkplain NodelistCharset#DEFAULT the nodelist default} if none
+ * is given; unmappable characters become {@code ?}.</p>
+ */
+public final class NodelistTextWriter extends EntryWriter {
+
+    /**
+     * Default nodelist title used in the header line.
+     */
+    public static final String DEFAULT_TITLE = "FidoNet Nodelist";
+
+    private static final Charset DEFAULT_CHARSET = NodelistCharset.DEFAULT.charset();
+    private static final byte EOF = 0x1A;
+    private static final DateTimeFormatter HEADER_DATE =
+            DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy", Locale.ENGLISH);
+
+    private final Crc16 crc = new Crc16();
+    private final SeekableByteChannel seekable;
+    private final String title;
+    private final LocalDate date;
+    private final Charset charset;
+    private long headerPosition;
+
+    /**
+     * Creates a writer for nodelist lines without a header, e.g. a segment body.
+     *
+     * @param channel target channel
+     */
+    public NodelistTextWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_CHARSET, null);
+    }
+
+    /**
+     * Creates a writer for nodelist lines without a header, e.g. a segment body.
+     *
+     * @param channel target channel
+     * @param charset charset of the text
+     * @param buffer  reusable output buffer, or {@code null} to allocate one
+     */
+    public NodelistTextWriter(WritableByteChannel channel, Charset charset, ByteBuffer buffer) {
+        super(channel, buffer);
+        this.seekable = null;
+        this.title = null;
+        this.date = null;
+        this.charset = charset == null ? DEFAULT_CHARSET : charset;
+        sink.encoder(this.charset.newEncoder());
+        sink.startCrc(crc);
+    }
+
+    /**
+     * Creates a writer for a complete nodelist file with a {@code ;A} header.
+     *
+     * @param channel target channel, written from its current position
+     * @param title   nodelist title, e.g. {@value #DEFAULT_TITLE}
+     * @param date    nodelist date, gives the header date and day number
+     * @throws IOException if an I/O error occurs while writing the header
+     */
+    public NodelistTextWriter(SeekableByteChannel channel, String title, LocalDate date) throws IOException {
+        this(channel, title, date, DEFAULT_CHARSET, null);
+    }
+
+    /**
+     * Creates a writer for a complete nodelist file with a {@code ;A} header.
+     *
+     * @param channel target channel, written from its current position
+     * @param title   nodelist title, e.g. {@value #DEFAULT_TITLE}
+     * @param date    nodelist date, gives the header date and day number
+     * @param charset charset of the text
+     * @param buffer  reusable output buffer, or {@code null} to allocate one
+     * @throws IOException if an I/O error occurs while writing the header
+     */
+    public NodelistTextWriter(SeekableByteChannel channel, String title, LocalDate date,
+                              Charset charset, ByteBuffer buffer) throws IOException {
+        super(channel, buffer);
+        if (title == null || date == null) {
+            throw new IllegalArgumentException("Title and date cannot be null");
+        }
+        this.seekable = channel;
+        this.title = title;
+        this.date = date;
+        this.charset = charset == null ? DEFAULT_CHARSET : charset;
+        sink.encoder(this.charset.newEncoder());
+
+        headerPosition = channel.position();
+        sink.put(header(0));
+        sink.startCrc(crc);
+    }
+
+    /**
+     * Formats the {@code ;A} header line, including its CR/LF terminator.
+     *
+     * @param title nodelist title
+     * @param date  nodelist date
+     * @param crc   CRC-16 of the nodelist text after the header
+     * @return header line
+     */
+    public static String headerLine(String title, LocalDate date, int crc) {
+        return String.format(Locale.ROOT, ";A %s for %s -- Day number %03d : %05d\r\n",
+                title, HEADER_DATE.format(date), date.getDayOfYear(), crc);
+    }
+
+    /**
+     * Writes a comment line; {@code text} follows the {@code ;} (e.g. "S Prolog").
+     *
+     * @param text comment text without the leading semicolon
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void comment(String text) throws IOException {
+        sink.put((byte) ';');
+        if (text != null) {
+            sink.putEncoded(text);
+        }
+        newLine();
+    }
+
+    /**
+     * Returns the CRC-16 of the text written after the header. The value is final once the writer is closed.
+     *
+     * @return CRC-16 value
+     */
+    public int crc() {
+        return crc.getValue();
+    }
+
+    @Override
+    void writeEntry(NodelistEntry entry) throws IOException {
+        Keywords keyword = entry.keywords();
+        if (keyword != null) {
+            sink.putAscii(keyword.toString());
+        }
+        sink.put((byte) ',');
+        sink.putInt(number(entry));
+        field(entry.nodeName());
+        field(entry.location());
+        field(entry.sysOpName());
+        field(entry.phone());
+        sink.put((byte) ',');
+        if (entry.baudRate() != null) {
+            sink.putInt(entry.baudRate());
+        }
+        if (entry.flags() != null) {
+            for (String flag : entry.flags()) {
+                field(flag);
+            }
+        }
+        newLine();
+    }
+
+    @Override
+    void finish() throws IOException {
+        sink.stopCrc();
+        if (seekable != null) {
+            sink.put(EOF);
+        }
+    }
+
+    @Override
+    void afterFlush() throws IOException {
+        if (seekable == null) {
+            return;
+        }
+        long end = seekable.position();
+        seekable.position(headerPosition);
+        ByteBuffer header = ByteBuffer.wrap(header(crc.getValue()));
+        while (header.hasRemaining()) {
+            seekable.write(header);
+        }
+        seekable.position(end);
+    }
+
+    /**
+     * Returns the number field: the zone for Zone lines, the net for Region and Host lines,
+     * otherwise the node.
+     */
+    private static int number(NodelistEntry entry) {
+        Keywords keyword = entry.keywords();
+        if (keyword == Keywords.ZONE) {
+            return entry.zone();
+        }
+        if (keyword == Keywords.REGION || keyword == Keywords.HOST) {
+            return entry.network();
+        }
+        return entry.node();
+    }
+
+    private void field(String value) throws IOException {
+        sink.put((byte) ',');
+        if (value != null) {
+            sink.putEncoded(value);
+        }
+    }
+
+    private void newLine() throws IOException {
+        sink.put((byte) '\r');
+        sink.put((byte) '\n');
+    }
+
+    private byte[] header(int crcValue) {
+        return headerLine(title, date, crcValue).getBytes(charset);
+    }
+}
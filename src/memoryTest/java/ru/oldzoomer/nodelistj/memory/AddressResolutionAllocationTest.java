@@ -0,0 +1,57 @@
+package ru.oldzoomer.nodelistj.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.index.AddressIndex;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that {@link AddressIndex#resolve} does not allocate once its batch has grown.
+ */
+class AddressResolutionAllocationTest {
+
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    @Test
+    @DisplayName("SEEN-BY resolution with a reused batch does not allocate")
+    void resolve_reusedBatch_noAllocation() throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM must support thread allocation counters");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        AddressIndex index = new AddressIndex(NodelistParser.parseNodelist(
+                new ByteArrayInputStream(NodelistGenerator.generate(200, 100))));
+        StringBuilder line = new StringBuilder("SEEN-BY:");
+        for (int net = 5000; net < 5200; net += 7) {
+            line.append(' ').append(net).append('/').append(net % 100 + 1);
+            line.append(' ').append(net % 100 + 3).append(' ').append(500);
+        }
+        byte[] seenBy = line.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] path = "\u0001PATH: 5100/7 5020/1 5199/100 5000/3".getBytes(StandardCharsets.US_ASCII);
+
+        AddressIndex.Batch batch = new AddressIndex.Batch();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            index.resolve(2, seenBy, 0, seenBy.length, batch);
+            index.resolve(2, path, 0, path.length, batch);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            index.resolve(2, seenBy, 0, seenBy.length, batch);
+            index.resolve(2, path, 0, path.length, batch);
+        }
+        long perRound = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_ROUNDS;
+
+        assertEquals(0, perRound, "Resolution allocates " + perRound + " bytes per line pair");
+    }
+}
@@ -0,0 +1,62 @@
+package ru.oldzoomer.nodelistj.memory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates deterministic synthetic nodelists shaped like a real zone segment.
+ */
+final class NodelistGenerator {
+
+    private static final String[] FLAG_SETS = {
+            "CM,XA,V34,INA:bbs%d.example.org,IBN,ITN",
+            "XX,MO,IBN:bbs%d.example.net:24555",
+            "CM,IBN,IFC,INA:%d.fido.example.com,PING",
+            "U,ENC,V32B,V42B",
+            "",
+    };
+
+    private NodelistGenerator() {
+    }
+
+    /**
+     * Generates a nodelist of one zone with the given number of nets and nodes per net.
+     *
+     * @return nodelist text in US-ASCII with CR/LF line endings
+     */
+    static byte[] generate(int nets, int nodesPerNet) {
+        StringBuilder sb = new StringBuilder(nets * nodesPerNet * 96);
+        sb.append(";A Synthetic Nodelist for Monday, January 1, 2024 -- Day number 001 : 00000\r\n");
+        sb.append("Zone,2,Europe,Geneva,Zone_Coordinator,41-22-555-0000,33600,CM,XA,INA:z2.example.org,IBN\r\n");
+        for (int net = 0; net < nets; net++) {
+            int netNumber = 5000 + net;
+            if (net % 20 == 0) {
+                sb.append("Region,").append(50 + net / 20).append(",Region_").append(net / 20)
+                        .append(",Moscow,Region_Coordinator,7-495-555-").append(1000 + net).append(",9600,CM\r\n");
+            }
+            sb.append("Host,").append(netNumber).append(",Net_").append(netNumber)
+                    .append(",Moscow,Net_Coordinator,7-495-555-").append(2000 + net).append(",33600,CM,IBN\r\n");
+            for (int node = 1; node <= nodesPerNet; node++) {
+                int id = net * nodesPerNet + node;
+                String keyword = switch (id % 17) {
+                    case 0 -> "Hub";
+                    case 5 -> "Pvt";
+                    case 9 -> "Hold";
+                    case 13 -> "Down";
+                    default -> "";
+                };
+                sb.append(keyword).append(',').append(node)
+                        .append(",Station_").append(id).append("_BBS")
+                        .append(",City_").append(id % 97)
+                        .append(",Sysop_Name_").append(id)
+                        .append(',').append(id % 5 == 0 ? "-Unpublished-" : "7-495-" + (1_000_000 + id))
+                        .append(',').append(id % 3 == 0 ? 9600 : 33600);
+                String flags = FLAG_SETS[id % FLAG_SETS.length];
+                if (!flags.isEmpty()) {
+                    sb.append(',').append(flags.replace("%d", Integer.toString(id)));
+                }
+                sb.append("\r\n");
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
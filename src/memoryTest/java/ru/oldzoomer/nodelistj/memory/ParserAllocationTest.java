@@ -0,0 +1,91 @@
+package ru.oldzoomer.nodelistj.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.EntryField;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the number of bytes allocated by {@link NodelistParser} per parsed line, with and without projection.
+ *
+ * <p>The budget is the measured value plus headroom. When a change lowers the allocation rate,
+ * lower the budget with it; raise it only deliberately, since containers are sized from it.</p>
+ */
+class ParserAllocationTest {
+
+    /**
+     * Maximum bytes allocated per parsed line (measured ~1073).
+     */
+    static final long MAX_ALLOCATED_BYTES_PER_LINE = 1_350;
+
+    /**
+     * Maximum bytes allocated per line parsed with {@link EntryField#FLAGS_ONLY} (measured ~288).
+     */
+    static final long MAX_ALLOCATED_BYTES_PER_FLAGS_ONLY_LINE = 360;
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Test
+    @DisplayName("parser allocation per line stays within budget")
+    void parseNodelist_allocationPerLine() throws IOException {
+        long perLine = allocationPerLine(in -> NodelistParser.parseNodelist(in));
+
+        assertTrue(perLine <= MAX_ALLOCATED_BYTES_PER_LINE,
+                "Parser allocates " + perLine + " bytes per line, budget is " + MAX_ALLOCATED_BYTES_PER_LINE);
+    }
+
+    @Test
+    @DisplayName("flags-only projection allocation per line stays within budget")
+    void parseNodelist_flagsOnly_allocationPerLine() throws IOException {
+        long perLine = allocationPerLine(
+                in -> NodelistParser.parseNodelist(in, NodelistCharset.DEFAULT, EntryField.FLAGS_ONLY));
+
+        assertTrue(perLine <= MAX_ALLOCATED_BYTES_PER_FLAGS_ONLY_LINE,
+                "Flags-only parser allocates " + perLine + " bytes per line, budget is "
+                        + MAX_ALLOCATED_BYTES_PER_FLAGS_ONLY_LINE);
+    }
+
+    private static long allocationPerLine(Parser parser) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationCounters(threads);
+
+        byte[] nodelist = NodelistGenerator.generate(200, 100);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parser.parse(new ByteArrayInputStream(nodelist));
+        }
+
+        long best = Long.MAX_VALUE;
+        int lines = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            List<NodelistEntry> entries = parser.parse(new ByteArrayInputStream(nodelist));
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated);
+            lines = entries.size();
+        }
+        return best / lines;
+    }
+
+    private static void assumeAllocationCounters(com.sun.management.ThreadMXBean threads) {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM must support thread allocation counters");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+        List<NodelistEntry> parse(InputStream in) throws IOException;
+    }
+}
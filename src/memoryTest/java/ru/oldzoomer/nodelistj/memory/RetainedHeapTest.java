@@ -0,0 +1,95 @@
+package ru.oldzoomer.nodelistj.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.cache.NodelistCache;
+import ru.oldzoomer.nodelistj.domain.DomainRegistry;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the heap retained per parsed entry, measured by walking the object graph with JOL.
+ *
+ * <p>The budget is the measured value plus headroom. When a change shrinks the entries,
+ * lower the budget with it; raise it only deliberately, since containers are sized from it.</p>
+ */
+class RetainedHeapTest {
+
+    /**
+     * Maximum bytes retained per entry of a parsed nodelist, including the list itself (measured ~512).
+     */
+    static final long MAX_RETAINED_BYTES_PER_ENTRY = 650;
+
+    /**
+     * Maximum heap retained by a {@link DomainRegistry}, in percent of the parsed nodelists it holds (measured ~62).
+     */
+    static final long MAX_REGISTRY_PERCENT_OF_PARSED = 70;
+
+    @Test
+    @DisplayName("retained heap per parsed entry stays within budget")
+    void parseNodelist_retainedPerEntry() throws IOException {
+        List<NodelistEntry> entries = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(NodelistGenerator.generate(200, 100)));
+
+        long perEntry = GraphLayout.parseInstance(entries).totalSize() / entries.size();
+
+        assertTrue(perEntry <= MAX_RETAINED_BYTES_PER_ENTRY,
+                "Entries retain " + perEntry + " bytes each, budget is " + MAX_RETAINED_BYTES_PER_ENTRY);
+    }
+
+    @Test
+    @DisplayName("Nodelist keeps no more than its entries until indexes are requested")
+    void nodelist_retainsOnlyEntries() throws IOException {
+        byte[] bytes = NodelistGenerator.generate(50, 100);
+        Nodelist nodelist = new Nodelist(new ByteArrayInputStream(bytes));
+
+        long entriesSize = GraphLayout.parseInstance(nodelist.getNodelist()).totalSize();
+        long nodelistSize = GraphLayout.parseInstance(nodelist).totalSize();
+
+        assertTrue(nodelistSize - entriesSize <= 64,
+                "Nodelist holds " + (nodelistSize - entriesSize) + " bytes beyond its entries");
+    }
+
+    @Test
+    @DisplayName("NodelistCache size estimate is close to the measured retained heap")
+    void nodelistCache_estimateMatchesMeasured() throws IOException {
+        List<NodelistEntry> entries = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(NodelistGenerator.generate(200, 100)));
+
+        long measured = GraphLayout.parseInstance(entries).totalSize();
+        long estimated = NodelistCache.estimateRetainedBytes(entries);
+
+        assertTrue(Math.abs(estimated - measured) <= measured / 10,
+                "Estimate " + estimated + " is more than 10% off the measured " + measured);
+    }
+
+    @Test
+    @DisplayName("DomainRegistry retains less than the parsed nodelists of different networks")
+    void domainRegistry_retainsLessThanNodelists() throws IOException {
+        String text = new String(NodelistGenerator.generate(100, 100), StandardCharsets.US_ASCII);
+        List<NodelistEntry> fidonet = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+        List<NodelistEntry> othernet = NodelistParser.parseNodelist(new ByteArrayInputStream(text
+                .replace("Station_", "Othernet_Station_").replace("Sysop_Name_", "Othernet_Sysop_")
+                .getBytes(StandardCharsets.US_ASCII)));
+        DomainRegistry registry = new DomainRegistry();
+        registry.register("fidonet", fidonet);
+        registry.register("othernet", othernet);
+
+        long parsed = GraphLayout.parseInstance(fidonet, othernet).totalSize();
+        long registered = GraphLayout.parseInstance(registry).totalSize();
+
+        assertTrue(registered * 100 <= parsed * MAX_REGISTRY_PERCENT_OF_PARSED,
+                "Registry retains " + registered + " bytes, the parsed nodelists " + parsed
+                        + ", budget is " + MAX_REGISTRY_PERCENT_OF_PARSED + "%");
+    }
+}
@@ -0,0 +1,219 @@
+package ru.oldzoomer.nodelistj.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistCache}.
+ */
+class NodelistCacheTest {
+
+    private static final NodelistVersion DAY_1 = new NodelistVersion(LocalDate.of(2026, 5, 1), 100);
+    private static final NodelistVersion DAY_2 = new NodelistVersion(LocalDate.of(2026, 5, 8), 200);
+    private static final NodelistVersion DAY_3 = new NodelistVersion(LocalDate.of(2026, 5, 15), 300);
+
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+
+    private static Nodelist nodelist(NodelistVersion version) {
+        String input = "Zone,2,Europe,City,Sysop,P,300,CM\n"
+                + "Host,5020,Moscow,Moscow,Sysop,-Unpublished-,9600,CM,IBN\n"
+                + ",1042,Station_" + version.crc() + ",Moscow,Ivan_Petrov,7-495-555-0000,9600,CM,IBN\n";
+        return new Nodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private NodelistCache cache(long maxBytes) {
+        return new NodelistCache(maxBytes, version -> {
+            loaderCalls.incrementAndGet();
+            return nodelist(version);
+        });
+    }
+
+    private static long sizeOfOne() {
+        return NodelistCache.estimateRetainedBytes(nodelist(DAY_1).getNodelist());
+    }
+
+    // ─── Loading ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("a cached version is returned without loading it again")
+    void get_hit() throws IOException {
+        NodelistCache cache = cache(Long.MAX_VALUE);
+
+        Nodelist first = cache.get(DAY_1);
+        Nodelist second = cache.get(DAY_1);
+
+        assertSame(first, second);
+        assertEquals(1, loaderCalls.get());
+        assertEquals(new NodelistCache.Stats(1, 1, 1, 0, sizeOfOne(), 1), cache.stats());
+    }
+
+    @Test
+    @DisplayName("concurrent misses for one version load it once")
+    void get_concurrentMisses_singleLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NodelistCache cache = new NodelistCache(Long.MAX_VALUE, version -> {
+            loaderCalls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return nodelist(version);
+        });
+
+        List<Future<Nodelist>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(DAY_1)));
+            }
+            while (cache.stats().hits() + cache.stats().misses() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Nodelist loaded = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<Nodelist> result : results) {
+                assertSame(loaded, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, cache.stats().misses());
+        assertEquals(7, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("a failed load is reported to the caller and retried by the next request")
+    void get_failedLoad_notCached() throws IOException {
+        NodelistCache cache = new NodelistCache(Long.MAX_VALUE, version -> {
+            if (loaderCalls.incrementAndGet() == 1) {
+                throw new IOException("unreadable");
+            }
+            return nodelist(version);
+        });
+
+        IOException e = assertThrows(IOException.class, () -> cache.get(DAY_1));
+        assertEquals("unreadable", e.getMessage());
+
+        assertNotNull(cache.get(DAY_1));
+        assertEquals(2, cache.stats().loads());
+        assertEquals(1, cache.stats().cachedCount());
+    }
+
+    // ─── Eviction ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("the least recently used version is evicted when the budget is exceeded")
+    void get_evictsLeastRecentlyUsed() throws IOException {
+        NodelistCache cache = cache(2 * sizeOfOne() + sizeOfOne() / 2);
+
+        cache.get(DAY_1);
+        cache.get(DAY_2);
+        cache.get(DAY_1);
+        cache.get(DAY_3);
+
+        NodelistCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.cachedCount());
+        assertTrue(stats.cachedBytes() <= 2 * sizeOfOne() + sizeOfOne() / 2);
+
+        cache.get(DAY_1);
+        assertEquals(3, loaderCalls.get(), "Day 1 was used recently and stayed");
+        cache.get(DAY_2);
+        assertEquals(4, loaderCalls.get(), "Day 2 was evicted");
+    }
+
+    @Test
+    @DisplayName("a nodelist larger than the budget is returned but not kept")
+    void get_oversized_notKept() throws IOException {
+        NodelistCache cache = cache(sizeOfOne() - 1);
+
+        assertNotNull(cache.get(DAY_1));
+        assertNotNull(cache.get(DAY_1));
+
+        assertEquals(2, loaderCalls.get());
+        assertEquals(0, cache.stats().cachedBytes());
+        assertEquals(0, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("an oversized nodelist leaves the cached versions in place")
+    void get_oversized_keepsOthers() throws IOException {
+        NodelistCache cache = new NodelistCache(sizeOfOne(), version -> {
+            loaderCalls.incrementAndGet();
+            if (!version.equals(DAY_2)) {
+                return nodelist(version);
+            }
+            String input = "Zone,2,Europe,City,Sysop,P,300,CM\n"
+                    + ",1,Node,City,Sysop,P,300\n".repeat(10);
+            return new Nodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        });
+        Nodelist first = cache.get(DAY_1);
+
+        assertNotNull(cache.get(DAY_2));
+
+        assertSame(first, cache.get(DAY_1));
+        assertEquals(2, loaderCalls.get());
+        assertEquals(sizeOfOne(), cache.stats().cachedBytes());
+        assertEquals(1, cache.stats().cachedCount());
+        assertEquals(0, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("invalidate drops a version and its size")
+    void invalidate() throws IOException {
+        NodelistCache cache = cache(Long.MAX_VALUE);
+        cache.get(DAY_1);
+        cache.get(DAY_2);
+
+        cache.invalidate(DAY_1);
+
+        assertEquals(sizeOfOne(), cache.stats().cachedBytes());
+        assertEquals(1, cache.stats().cachedCount());
+        cache.get(DAY_1);
+        assertEquals(3, loaderCalls.get());
+    }
+
+    // ─── Size estimate ─────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("the size estimate counts strings by their encoding")
+    void estimateRetainedBytes_strings() {
+        Nodelist ascii = nodelist(DAY_1);
+        String cyrillic = "Zone,2,Европа,Город,Сисоп,P,300,CM\n"
+                + "Host,5020,Москва,Москва,Сисоп,-Unpublished-,9600,CM,IBN\n"
+                + ",1042,Станция_100,Москва,Иван_Петров,7-495-555-0000,9600,CM,IBN\n";
+        Nodelist wide = new Nodelist(new ByteArrayInputStream(cyrillic.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8);
+
+        assertTrue(NodelistCache.estimateRetainedBytes(ascii.getNodelist()) > 3 * 56);
+        assertTrue(NodelistCache.estimateRetainedBytes(wide.getNodelist())
+                > NodelistCache.estimateRetainedBytes(ascii.getNodelist()));
+        assertThrows(IllegalArgumentException.class, () -> NodelistCache.estimateRetainedBytes(null));
+    }
+
+    @Test
+    @DisplayName("invalid arguments are rejected")
+    void invalidArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new NodelistCache(-1, v -> null));
+        assertThrows(IllegalArgumentException.class, () -> new NodelistCache(0, null));
+        assertThrows(IllegalArgumentException.class, () -> cache(0).get(null));
+        assertThrows(IllegalArgumentException.class, () -> new NodelistVersion(LocalDate.now(), 70000));
+        assertThrows(IllegalArgumentException.class, () -> new NodelistVersion(null, 1));
+    }
+}
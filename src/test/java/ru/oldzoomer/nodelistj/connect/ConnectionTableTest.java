@@ -0,0 +1,143 @@
+package ru.oldzoomer.nodelistj.connect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Protocol;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ConnectionTable}.
+ */
+class ConnectionTableTest {
+
+    private static ConnectionTable table(String input) throws IOException {
+        InputStream is = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        List<NodelistEntry> entries = NodelistParser.parseNodelist(is);
+        return new ConnectionTable(entries);
+    }
+
+    // ─── Flag derivation ───────────────────────────────────────────────
+
+    @Test
+    @DisplayName("protocol flags inherit INA host and default ports, in flag order")
+    void inaInheritanceAndDefaults() throws IOException {
+        ConnectionTable table = table("Zone,2,Z,S,S,P,300\n"
+                + "Host,5020,Net,City,Sysop,Phone,300\n"
+                + ",1042,Node,City,Sysop,-Unpublished-,300,CM,ITN,INA:bbs.weather-station.org,IBN:24555,IFC\n");
+
+        int slot = table.find(2, 5020, 1042);
+        assertTrue(slot >= 0);
+        assertEquals(3, table.count(slot));
+
+        assertEquals(Protocol.TELNET, table.protocol(slot, 0));
+        assertEquals("bbs.weather-station.org", table.host(slot, 0));
+        assertEquals(23, table.port(slot, 0));
+
+        assertEquals(Protocol.BINKP, table.protocol(slot, 1));
+        assertEquals("bbs.weather-station.org", table.host(slot, 1));
+        assertEquals(24555, table.port(slot, 1));
+
+        assertEquals(Protocol.IFCICO, table.protocol(slot, 2));
+        assertEquals(60179, table.port(slot, 2));
+    }
+
+    @Test
+    @DisplayName("explicit host and host:port values override INA")
+    void explicitHostAndPort() throws IOException {
+        ConnectionTable table = table("Zone,1,Z,S,S,P,300\n"
+                + ",105,Node,City,Sysop,P,300,CM,INA:ina.example.org,IBN:ttb.rgbbs.info,ITN:telnet.example.org:2323\n");
+
+        int slot = table.find(1, 1, 105);
+        assertEquals(2, table.count(slot));
+        assertEquals("ttb.rgbbs.info", table.host(slot, 0));
+        assertEquals(24554, table.port(slot, 0));
+        assertEquals("telnet.example.org", table.host(slot, 1));
+        assertEquals(2323, table.port(slot, 1));
+    }
+
+    @Test
+    @DisplayName("bracketed IPv6 literal with port is split correctly")
+    void ipv6LiteralWithPort() throws IOException {
+        ConnectionTable table = table("Zone,1,Z,S,S,P,300\n"
+                + ",7,Node,City,Sysop,P,300,IBN:[2001:db8::1]:24555\n");
+
+        int slot = table.find(1, 1, 7);
+        assertEquals("[2001:db8::1]", table.host(slot, 0));
+        assertEquals(24555, table.port(slot, 0));
+    }
+
+    @Test
+    @DisplayName("protocol flags without any host are dropped")
+    void noHost_noDescriptor() throws IOException {
+        ConnectionTable table = table("Zone,1,Z,S,S,P,300\n"
+                + ",7,Node,City,Sysop,P,300,CM,IBN,ITN\n");
+
+        assertEquals(-1, table.find(1, 1, 7));
+        assertEquals(0, table.count(-1));
+    }
+
+    @Test
+    @DisplayName("first entry wins for duplicated addresses")
+    void duplicateAddress_firstWins() throws IOException {
+        ConnectionTable table = table("Zone,1,Z,S,S,P,300\n"
+                + ",7,Node,City,Sysop,P,300,IBN:first.example.org\n"
+                + ",7,Node,City,Sysop,P,300,IBN:second.example.org\n");
+
+        assertEquals(1, table.size());
+        assertEquals("first.example.org", table.host(table.find(1, 1, 7), 0));
+    }
+
+    @Test
+    @DisplayName("descriptor index out of range throws")
+    void indexOutOfRange_throws() throws IOException {
+        ConnectionTable table = table("Zone,1,Z,S,S,P,300,INA:z.example.org,IBN\n");
+
+        int slot = table.find(1, 1, 0);
+        assertThrows(IndexOutOfBoundsException.class, () -> table.host(slot, 1));
+    }
+
+    @Test
+    @DisplayName("entries with missing address parts are skipped")
+    void missingAddress_skipped() {
+        ConnectionTable table = new ConnectionTable(List.of(
+                new NodelistEntry(1, 1, null, null, "Node", "City", "Sysop", "P", 300,
+                        new String[]{"IBN:node.example.org"}),
+                new NodelistEntry(1, 1, 7, null, "Node", "City", "Sysop", "P", 300,
+                        new String[]{"IBN:node.example.org"})));
+
+        assertEquals(1, table.size());
+        assertEquals("node.example.org", table.host(table.find(1, 1, 7), 0));
+    }
+
+    // ─── Real nodelist ─────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("real nodelist — FTSC administrator has IBN, IFC and ITN descriptors")
+    void realNodelist_ftscAdministrator() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            Nodelist nodelist = new Nodelist(is);
+            ConnectionTable table = nodelist.getConnectionTable();
+
+            assertSame(table, nodelist.getConnectionTable(), "Table should be built once");
+
+            int slot = table.find(1, 1, 19);
+            assertEquals(3, table.count(slot));
+            assertEquals(Protocol.BINKP, table.protocol(slot, 0));
+            assertEquals("ftsc.bnbbbs.net", table.host(slot, 0));
+            assertEquals(24555, table.port(slot, 0));
+            assertEquals(Protocol.IFCICO, table.protocol(slot, 1));
+            assertEquals(Protocol.TELNET, table.protocol(slot, 2));
+            assertEquals(60177, table.port(slot, 2));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.oldzoomer.nodelistj.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DomainRegistry}.
+ */
+class DomainRegistryTest {
+
+    private static final String FIDONET = "Zone,2,Europe,City,Sysop,P,300,CM\n"
+            + "Host,5020,Moscow,Moscow,Host_Sysop,-Unpublished-,9600,CM,IBN\n"
+            + ",1042,Station,Moscow,Ivan_Petrov,-Unpublished-,9600,CM,IBN\n"
+            + ",1042,Duplicate,Moscow,Ivan_Petrov,-Unpublished-,9600,CM,IBN\n";
+
+    private static final String OTHERNET = "Zone,2,Othernet,City,Sysop,P,300,CM\n"
+            + "Host,5020,Othernet_Host,Moscow,Sysop,-Unpublished-,9600,CM,IBN\n"
+            + ",1042,Elsewhere,Moscow,Ivan_Petrov,-Unpublished-,9600,CM,IBN\n";
+
+    private static List<NodelistEntry> entries(String input) {
+        return new Nodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))).getNodelist();
+    }
+
+    // ─── Lookup ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("colliding zones are told apart by domain")
+    void find_byDomain() {
+        DomainRegistry registry = new DomainRegistry();
+        registry.register("FidoNet", entries(FIDONET));
+        registry.register("othernet", entries(OTHERNET));
+
+        assertEquals("Station", registry.find("2:5020/1042.0@fidonet").nodeName());
+        assertEquals("Station", registry.find("2:5020/1042@FIDONET").nodeName());
+        assertEquals("Station", registry.find("2:5020/1042").nodeName(), "Addresses without a domain are in fidonet");
+        assertEquals("Elsewhere", registry.find("2:5020/1042@othernet").nodeName());
+        assertEquals("Othernet_Host", registry.find("othernet", 2, 5020, 0).nodeName());
+        assertEquals(List.of("fidonet", "othernet"), registry.domains());
+        assertEquals(6, registry.size(), "Duplicate addresses are registered once");
+    }
+
+    @Test
+    @DisplayName("unknown domains, addresses and points are not found")
+    void find_missing() {
+        DomainRegistry registry = new DomainRegistry("othernet");
+        registry.register("othernet", entries(OTHERNET));
+
+        assertEquals("Elsewhere", registry.find("2:5020/1042").nodeName(), "Configured default domain");
+        assertNull(registry.find("2:5020/1042@fidonet"));
+        assertNull(registry.find("2:5020/9999@othernet"));
+        assertNull(registry.find("2:5020/1042.1@othernet"));
+        assertNull(registry.find("othernet", 2, 70000, 1));
+    }
+
+    @Test
+    @DisplayName("malformed addresses and domains are rejected")
+    void invalidArguments_throw() {
+        DomainRegistry registry = new DomainRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.find("2:5020"));
+        assertThrows(IllegalArgumentException.class, () -> registry.find("2:5020/x@fidonet"));
+        assertThrows(IllegalArgumentException.class, () -> registry.find("2:5020/1.-1"));
+        assertThrows(IllegalArgumentException.class, () -> registry.find((String) null));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(" ", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("fidonet", (Nodelist) null));
+    }
+
+    @Test
+    @DisplayName("registering a domain again replaces its nodelist")
+    void register_replaces() {
+        DomainRegistry registry = new DomainRegistry();
+        registry.register("fidonet", entries(FIDONET));
+        registry.register("othernet", entries(OTHERNET));
+
+        registry.register("fidonet", entries(FIDONET.replace("Station", "Renamed")));
+
+        assertEquals("Renamed", registry.find("2:5020/1042@fidonet").nodeName());
+        assertEquals("Elsewhere", registry.find("2:5020/1042@othernet").nodeName());
+        assertEquals(List.of("fidonet", "othernet"), registry.domains());
+    }
+
+    // ─── Pooling ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("locations, flags and placeholders are shared across domains")
+    void register_sharesValues() {
+        DomainRegistry registry = new DomainRegistry();
+        registry.register("fidonet", entries(FIDONET));
+        registry.register("othernet", entries(OTHERNET));
+
+        NodelistEntry fido = registry.find("2:5020/1042@fidonet");
+        NodelistEntry other = registry.find("2:5020/1042@othernet");
+        assertSame(fido.location(), other.location());
+        assertSame(fido.flags()[1], other.flags()[1]);
+        assertSame(fido.phone(), registry.find("2:5020/0@othernet").phone());
+        assertSame(fido.network(), other.network());
+    }
+
+    @Test
+    @DisplayName("entries do not share flag arrays")
+    void register_flagArraysNotShared() {
+        DomainRegistry registry = new DomainRegistry();
+        registry.register("fidonet", entries(FIDONET));
+        registry.register("othernet", entries(OTHERNET));
+
+        NodelistEntry fido = registry.find("2:5020/1042@fidonet");
+        NodelistEntry other = registry.find("2:5020/1042@othernet");
+        fido.flags()[0] = "XX";
+
+        assertEquals("CM", other.flags()[0]);
+        assertEquals("CM", registry.find("2:5020/0@fidonet").flags()[0]);
+    }
+
+    @Test
+    @DisplayName("the pool holds shared values, not the names of every entry")
+    void register_poolGrowsSubLinearly() throws Exception {
+        byte[] bytes;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            bytes = is.readAllBytes();
+        }
+        List<NodelistEntry> entries = new Nodelist(new ByteArrayInputStream(bytes)).getNodelist();
+        DomainRegistry registry = new DomainRegistry();
+
+        registry.register("fidonet", entries);
+        int pooled = registry.pooledValues();
+        assertTrue(pooled < entries.size(), pooled + " pooled values for " + entries.size() + " entries");
+        registry.register("mirror", entries);
+
+        assertEquals(pooled, registry.pooledValues(), "A second copy of the nodelist adds no values");
+        assertSame(registry.find("fidonet", 2, 5020, 0).location(), registry.find("mirror", 2, 5020, 0).location());
+
+        registry.register("fidonet", List.of());
+        assertEquals(pooled, registry.pooledValues(), "Values of the mirror are still in use");
+    }
+}
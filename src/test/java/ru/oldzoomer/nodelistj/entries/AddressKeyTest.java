@@ -0,0 +1,45 @@
+package ru.oldzoomer.nodelistj.entries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AddressKey}.
+ */
+class AddressKeyTest {
+
+    @Test
+    void of_roundTripsComponents() {
+        long key = AddressKey.of(2, 5020, 1042);
+        assertEquals(2, AddressKey.zone(key));
+        assertEquals(5020, AddressKey.network(key));
+        assertEquals(1042, AddressKey.node(key));
+        assertEquals("2:5020/1042", AddressKey.toString(key));
+    }
+
+    @Test
+    void of_keysSortInAddressOrder() {
+        assertTrue(AddressKey.of(1, 65535, 65535) < AddressKey.of(2, 0, 0));
+        assertTrue(AddressKey.of(2, 5020, 65535) < AddressKey.of(2, 5021, 0));
+        assertTrue(AddressKey.of(2, 5020, 1) < AddressKey.of(2, 5020, 2));
+    }
+
+    @Test
+    void of_outOfRange_throws() {
+        assertFalse(AddressKey.isValid(-1, 1, 1));
+        assertFalse(AddressKey.isValid(1, 65536, 1));
+        assertThrows(IllegalArgumentException.class, () -> AddressKey.of(1, 1, -5));
+    }
+
+    @Test
+    void sort_isStableAndMovesValues() {
+        long[] keys = {5, 3, 5, 1, 3, 9, 0};
+        int[] values = {0, 1, 2, 3, 4, 5, 6};
+
+        AddressKey.sort(keys, values, 6);
+
+        assertArrayEquals(new long[]{1, 3, 3, 5, 5, 9, 0}, keys);
+        assertArrayEquals(new int[]{3, 1, 4, 0, 2, 5, 6}, values);
+    }
+}
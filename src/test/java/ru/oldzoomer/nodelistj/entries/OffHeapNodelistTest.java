@@ -0,0 +1,110 @@
+package ru.oldzoomer.nodelistj.entries;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OffHeapNodelist}.
+ */
+class OffHeapNodelistTest {
+
+    private static List<NodelistEntry> realNodelist() throws IOException {
+        try (InputStream is = OffHeapNodelistTest.class.getClassLoader().getResourceAsStream("nodelist.txt")) {
+            return NodelistParser.parseNodelist(is);
+        }
+    }
+
+    @Test
+    @DisplayName("every view equals the heap entry it was copied from")
+    void viewsMatchHeapEntries() throws IOException {
+        List<NodelistEntry> entries = realNodelist();
+
+        try (OffHeapNodelist offHeap = new OffHeapNodelist(entries)) {
+            assertEquals(entries.size(), offHeap.size());
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(entries.get(i), offHeap.get(i).toNodelistEntry(), "Entry " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("find by address returns the first matching entry")
+    void findByAddress() throws IOException {
+        List<NodelistEntry> entries = realNodelist();
+
+        try (OffHeapNodelist offHeap = new OffHeapNodelist(entries)) {
+            OffHeapEntry zone = offHeap.find(1, 1, 0);
+            assertNotNull(zone);
+            assertEquals(0, zone.index());
+            assertEquals(Keywords.ZONE, zone.keywords());
+            assertEquals("North_America_(065)", zone.nodeName());
+
+            OffHeapEntry ftsc = offHeap.find(1, 1, 19);
+            assertNotNull(ftsc);
+            assertEquals("FTSC_Administrator", ftsc.nodeName());
+            assertEquals(33600, ftsc.baudRate());
+            assertNull(ftsc.keywords());
+
+            assertNull(offHeap.find(1, 1, 32000));
+            assertEquals(-1, offHeap.indexOf(-1, 1, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("null strings and empty flags survive the round trip")
+    void nullFieldsRoundTrip() {
+        NodelistEntry entry = new NodelistEntry(2, 5020, 1042, Keywords.PVT,
+                null, "Moscow", "Sysop", null, 300, new String[0]);
+
+        try (OffHeapNodelist offHeap = new OffHeapNodelist(List.of(entry))) {
+            assertEquals(entry, offHeap.get(0).toNodelistEntry());
+            assertTrue(offHeap.byteSize() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("missing numbers and flags come back as null, not zero")
+    void nullNumbersRoundTrip() {
+        NodelistEntry entry = new NodelistEntry(2, null, 1042, null,
+                "Name", "Moscow", "Sysop", "P", null, null);
+
+        try (OffHeapNodelist offHeap = new OffHeapNodelist(List.of(entry))) {
+            OffHeapEntry view = offHeap.get(0);
+            assertEquals(EntryView.NO_VALUE, view.network());
+            assertNull(view.baudRate());
+            assertNull(view.flags());
+            assertEquals(entry, view.toNodelistEntry());
+            assertEquals(-1, offHeap.indexOf(2, 0, 1042), "Entries without a full address are not indexed");
+        }
+    }
+
+    @Test
+    @DisplayName("access after close throws IllegalStateException")
+    void accessAfterClose_throws() {
+        NodelistEntry entry = new NodelistEntry(1, 1, 0, Keywords.ZONE,
+                "Z", "City", "Sysop", "P", 300, new String[]{"CM"});
+        OffHeapNodelist offHeap = new OffHeapNodelist(List.of(entry));
+        OffHeapEntry view = offHeap.get(0);
+
+        offHeap.close();
+
+        assertFalse(offHeap.isOpen());
+        assertThrows(IllegalStateException.class, view::nodeName);
+        assertThrows(IllegalStateException.class, () -> offHeap.get(0));
+        assertDoesNotThrow(offHeap::close);
+    }
+
+    @Test
+    @DisplayName("null entries are rejected")
+    void nullEntries_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapNodelist((List<NodelistEntry>) null));
+    }
+}
@@ -0,0 +1,128 @@
+package ru.oldzoomer.nodelistj.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistHistory}.
+ */
+class NodelistHistoryTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 3, 6);
+    private static final LocalDate DAY_2 = LocalDate.of(2024, 3, 7);
+    private static final LocalDate DAY_3 = LocalDate.of(2024, 3, 8);
+
+    private static List<NodelistEntry> parse(String input) throws IOException {
+        return NodelistParser.parseNodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static NodelistHistory history(int checkpointInterval) throws IOException {
+        NodelistHistory history = new NodelistHistory(checkpointInterval);
+        history.append(DAY_1, parse("Zone,2,Z,S,S,P,300\n"
+                + "Host,5020,Net,Moscow,Sysop,P,300\n"
+                + ",1042,Node,Moscow,Sysop,P,300,CM\n"
+                + ",1043,Other,Moscow,Sysop,P,300\n"));
+        history.append(DAY_2, parse("Zone,2,Z,S,S,P,300\n"
+                + "Host,5020,Net,Moscow,Sysop,P,300\n"
+                + ",1042,Node,Moscow,Sysop,P,300,CM,IBN\n"));
+        history.append(DAY_3, parse("Zone,2,Z,S,S,P,300\n"
+                + "Host,5020,Net,Moscow,Sysop,P,300\n"
+                + ",1042,Node,Moscow,Sysop,P,300,CM,IBN\n"
+                + ",1043,Other,Moscow,Sysop,P,300,XA\n"));
+        return history;
+    }
+
+    // ─── Point-in-time lookup ──────────────────────────────────────────
+
+    @Test
+    @DisplayName("find returns the entry in effect on each day, for any checkpoint interval")
+    void find_asOfDay() throws IOException {
+        for (int interval = 1; interval <= 3; interval++) {
+            NodelistHistory history = history(interval);
+
+            assertArrayEquals(new String[]{"CM"}, history.find(DAY_1, 2, 5020, 1042).flags());
+            assertArrayEquals(new String[]{"CM", "IBN"}, history.find(DAY_2, 2, 5020, 1042).flags());
+            assertNotNull(history.find(DAY_1, 2, 5020, 1043));
+            assertNull(history.find(DAY_2, 2, 5020, 1043), "Removed on day 2");
+            assertArrayEquals(new String[]{"XA"}, history.find(DAY_3, 2, 5020, 1043).flags());
+        }
+    }
+
+    @Test
+    @DisplayName("find before the first version returns null, after the last returns the latest")
+    void find_outsideArchive() throws IOException {
+        NodelistHistory history = history(2);
+
+        assertNull(history.find(DAY_1.minusDays(1), 2, 5020, 1042));
+        assertNotNull(history.find(DAY_3.plusYears(1), 2, 5020, 1043));
+    }
+
+    @Test
+    @DisplayName("find by nodelist day number")
+    void find_byDayNumber() throws IOException {
+        NodelistHistory history = history(2);
+
+        assertNotNull(history.find(2024, DAY_1.getDayOfYear(), 2, 5020, 1043));
+        assertNull(history.find(2024, DAY_2.getDayOfYear(), 2, 5020, 1043));
+    }
+
+    // ─── Snapshots and changes ─────────────────────────────────────────
+
+    @Test
+    @DisplayName("snapshot reconstructs the full nodelist in address order")
+    void snapshot_reconstructsNodelist() throws IOException {
+        NodelistHistory history = history(3);
+
+        List<NodelistEntry> snapshot = history.snapshot(DAY_3);
+
+        assertEquals(4, snapshot.size());
+        assertEquals(2, snapshot.get(0).network());
+        assertEquals(5020, snapshot.get(1).network());
+        assertEquals(1042, snapshot.get(2).node());
+        assertEquals(1043, snapshot.get(3).node());
+        assertEquals(3, history.snapshot(DAY_2).size());
+        assertTrue(history.snapshot(DAY_1.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("changes lists additions, modifications and removals oldest first")
+    void changes_perNode() throws IOException {
+        NodelistHistory history = history(2);
+
+        List<NodelistHistory.Change> changes = history.changes(2, 5020, 1043);
+
+        assertEquals(3, changes.size());
+        assertEquals(DAY_1, changes.get(0).date());
+        assertNotNull(changes.get(0).entry());
+        assertEquals(DAY_2, changes.get(1).date());
+        assertNull(changes.get(1).entry());
+        assertEquals(DAY_3, changes.get(2).date());
+        assertArrayEquals(new String[]{"XA"}, changes.get(2).entry().flags());
+
+        assertEquals(2, history.changes(2, 5020, 1042).size());
+        assertEquals(1, history.changes(2, 2, 0).size());
+    }
+
+    // ─── Validation ────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("appending an older or same date is rejected")
+    void append_outOfOrder_throws() throws IOException {
+        NodelistHistory history = history(2);
+
+        assertThrows(IllegalArgumentException.class, () -> history.append(DAY_3, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> history.append(DAY_1, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new NodelistHistory(0));
+        assertEquals(List.of(DAY_1, DAY_2, DAY_3), history.dates());
+    }
+}
@@ -0,0 +1,151 @@
+package ru.oldzoomer.nodelistj.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AddressIndex}.
+ */
+class AddressIndexTest {
+
+    private static final String INPUT = "Zone,2,Europe,City,Sysop,P,300\n"
+            + "Host,5020,Moscow,City,Sysop,P,300\n"
+            + ",1042,A,City,Sysop,P,300\n"
+            + ",1043,B,City,Sysop,P,300\n"
+            + ",1042,Duplicate,City,Sysop,P,300\n"
+            + "Host,5030,Kaluga,City,Sysop,P,300\n"
+            + ",100,C,City,Sysop,P,300\n";
+
+    private static List<NodelistEntry> parse(String input) throws IOException {
+        return NodelistParser.parseNodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static int resolve(AddressIndex index, String line, AddressIndex.Batch batch) {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        return index.resolve(2, bytes, 0, bytes.length, batch);
+    }
+
+    @Test
+    @DisplayName("find returns the ordinal of the first entry with the address")
+    void find() throws IOException {
+        AddressIndex index = new AddressIndex(parse(INPUT));
+
+        assertEquals(2, index.find(2, 5020, 1042));
+        assertEquals(6, index.find(2, 5030, 100));
+        assertEquals(AddressIndex.NOT_FOUND, index.find(2, 5030, 101));
+        assertEquals(AddressIndex.NOT_FOUND, index.find(-1, 5030, 100));
+        assertEquals(6, index.size());
+    }
+
+    // ─── Bulk resolution ───────────────────────────────────────────────
+
+    @Test
+    @DisplayName("a SEEN-BY line is resolved with net-relative addresses")
+    void resolve_seenBy() throws IOException {
+        AddressIndex index = new AddressIndex(parse(INPUT));
+        AddressIndex.Batch batch = new AddressIndex.Batch();
+
+        int count = resolve(index, "SEEN-BY: 5020/1042 1043 9999 5030/100 0\r", batch);
+
+        assertEquals(5, count);
+        assertEquals(List.of(2, 3, -1, 6, 5), ordinals(batch));
+        assertEquals(5020, batch.network(1));
+        assertEquals(1043, batch.node(1));
+        assertEquals(5030, batch.network(4));
+        assertEquals(0, batch.node(4));
+    }
+
+    @Test
+    @DisplayName("unsorted PATH lines and malformed words are resolved in line order")
+    void resolve_unsortedAndMalformed() throws IOException {
+        AddressIndex index = new AddressIndex(parse(INPUT));
+        AddressIndex.Batch batch = new AddressIndex.Batch();
+
+        int count = resolve(index, "\u0001PATH: 1042 5030/100 5020/1043 x 1042 5020/ 7 5020/99999 5020/0", batch);
+
+        assertEquals(9, count);
+        assertEquals(List.of(-1, 6, 3, -1, 2, -1, -1, -1, 1), ordinals(batch));
+        assertEquals(-1, batch.network(0), "A bare node before any net is not an address");
+        assertEquals(-1, batch.network(6), "A malformed net resets the current net");
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.ordinal(9));
+    }
+
+    @Test
+    @DisplayName("a batch is reused and grows for long lines")
+    void resolve_reusesBatch() throws IOException {
+        AddressIndex index = new AddressIndex(parse(INPUT));
+        AddressIndex.Batch batch = new AddressIndex.Batch();
+        String longLine = "5020/1042" + " 1043".repeat(200);
+
+        assertEquals(201, resolve(index, longLine, batch));
+        int[] ordinals = batch.ordinals();
+        assertEquals(3, ordinals[200]);
+
+        assertEquals(1, resolve(index, "5030/100", batch));
+        assertSame(ordinals, batch.ordinals());
+        assertEquals(6, batch.ordinal(0));
+        assertEquals(0, resolve(index, "  ", batch));
+    }
+
+    @Test
+    @DisplayName("bulk resolution agrees with single lookups on the real nodelist")
+    void resolve_matchesFind() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            Nodelist nodelist = new Nodelist(is);
+            AddressIndex index = nodelist.getAddressIndex();
+            assertSame(index, nodelist.getAddressIndex());
+
+            List<NodelistEntry> entries = nodelist.getNodelist();
+            Random random = new Random(42);
+            AddressIndex.Batch batch = new AddressIndex.Batch();
+            for (int round = 0; round < 50; round++) {
+                StringBuilder line = new StringBuilder();
+                int[] networks = new int[100];
+                int[] nodes = new int[100];
+                for (int i = 0; i < networks.length; i++) {
+                    NodelistEntry entry = entries.get(random.nextInt(entries.size()));
+                    networks[i] = entry.network();
+                    nodes[i] = random.nextInt(4) == 0 ? entry.node() + 1 : entry.node();
+                    line.append(networks[i]).append('/').append(nodes[i]).append(' ');
+                }
+
+                byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+                index.resolve(2, bytes, 0, bytes.length, batch);
+
+                for (int i = 0; i < networks.length; i++) {
+                    assertEquals(index.find(2, networks[i], nodes[i]), batch.ordinal(i), line.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("invalid arguments are rejected")
+    void resolve_invalidArguments_throw() throws IOException {
+        AddressIndex index = new AddressIndex(parse(INPUT));
+        AddressIndex.Batch batch = new AddressIndex.Batch();
+        byte[] bytes = new byte[4];
+
+        assertThrows(IllegalArgumentException.class, () -> new AddressIndex(null));
+        assertThrows(IllegalArgumentException.class, () -> index.resolve(2, null, 0, 0, batch));
+        assertThrows(IllegalArgumentException.class, () -> index.resolve(70000, bytes, 0, 4, batch));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.resolve(2, bytes, 2, 5, batch));
+    }
+
+    private static List<Integer> ordinals(AddressIndex.Batch batch) {
+        return IntStream.range(0, batch.size()).map(batch::ordinal).boxed().toList();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.oldzoomer.nodelistj.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PhoneIndex}.
+ */
+class PhoneIndexTest {
+
+    private static final String INPUT = "Zone,1,Z,S,S,1-647-847-2083,300\n"
+            + ",1,A,City,Sysop,1-724-552-9698,300\n"
+            + ",2,B,City,Sysop,-Unpublished-,300\n"
+            + ",3,C,City,Sysop,1-724-111-0000,300\n"
+            + ",4,D,City,Sysop,7-495-123-4567,300\n"
+            + ",5,E,City,Sysop,1-724-552-9698,300\n";
+
+    private static List<NodelistEntry> parse(String input) throws IOException {
+        return NodelistParser.parseNodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("normalize keeps digits only")
+    void normalize_keepsDigits() {
+        assertEquals("17245529698", PhoneIndex.normalize("1-724-552-9698"));
+        assertEquals("", PhoneIndex.normalize("-Unpublished-"));
+        assertEquals("", PhoneIndex.normalize(null));
+    }
+
+    @Test
+    @DisplayName("unpublished numbers are not indexed")
+    void unpublished_skipped() throws IOException {
+        PhoneIndex index = new PhoneIndex(parse(INPUT));
+
+        assertEquals(5, index.size());
+        assertEquals(0, index.find("-Unpublished-").length);
+    }
+
+    @Test
+    @DisplayName("prefix query returns every number in the prefix range")
+    void findByPrefix() throws IOException {
+        List<NodelistEntry> entries = parse(INPUT);
+        PhoneIndex index = new PhoneIndex(entries);
+
+        int[] areaCode = index.findByPrefix("1-724");
+        assertArrayEquals(new int[]{3, 1, 5}, areaCode);
+        assertEquals(4, index.findByPrefix("1").length);
+        assertArrayEquals(new int[]{4}, index.findByPrefix("7"));
+        assertEquals(0, index.findByPrefix("8").length);
+        assertEquals(index.size(), index.findByPrefix("").length);
+    }
+
+    @Test
+    @DisplayName("exact lookup finds duplicates but not longer numbers")
+    void find_exact() throws IOException {
+        PhoneIndex index = new PhoneIndex(parse(INPUT));
+
+        assertArrayEquals(new int[]{1, 5}, index.find("1 724 552 9698"));
+        assertEquals(0, index.find("1-724-552-969").length);
+        assertEquals(0, index.find("1-724").length);
+    }
+
+    @Test
+    @DisplayName("bounds walk a range without materializing arrays")
+    void bounds_walkRange() throws IOException {
+        PhoneIndex index = new PhoneIndex(parse(INPUT));
+
+        int from = index.lowerBound("1724");
+        int to = index.upperBound("1724");
+        assertEquals(3, to - from);
+        assertEquals("17241110000", index.number(from));
+        assertEquals(3, index.ordinal(from));
+    }
+
+    @Test
+    @DisplayName("real nodelist — index is shared by the Nodelist instance")
+    void realNodelist_sharedIndex() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            Nodelist nodelist = new Nodelist(is);
+            PhoneIndex index = nodelist.getPhoneIndex();
+
+            assertSame(index, nodelist.getPhoneIndex());
+            int[] ordinals = index.find("1-647-847-2083");
+            assertTrue(ordinals.length >= 1);
+            assertEquals("1-647-847-2083", nodelist.getNodelist().get(ordinals[0]).phone());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistCharset}.
+ */
+class NodelistCharsetTest {
+
+    private static byte[] allBytes() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("table decoding matches the JDK for every byte of single-byte charsets")
+    void tableDecoding_matchesJdk() {
+        byte[] bytes = allBytes();
+        for (String name : new String[]{"IBM437", "IBM866", "windows-1251", "ISO-8859-1"}) {
+            Charset charset = Charset.forName(name);
+            assertEquals(new String(bytes, charset), NodelistCharset.of(charset).decode(bytes, 0, bytes.length), name);
+        }
+    }
+
+    @Test
+    @DisplayName("ASCII fast path and multi-byte fallback")
+    void asciiAndMultiByte() {
+        byte[] ascii = "Zone,1,Test".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("1,Test", NodelistCharset.CP866.decode(ascii, 5, 6));
+
+        byte[] utf8 = "Москва".getBytes(StandardCharsets.UTF_8);
+        assertEquals("Москва", NodelistCharset.of(StandardCharsets.UTF_8).decode(utf8, 0, utf8.length));
+
+        byte[] utf16 = "Zone".getBytes(StandardCharsets.UTF_16LE);
+        assertEquals("Zone", NodelistCharset.of(StandardCharsets.UTF_16LE).decode(utf16, 0, utf16.length),
+                "Charsets that are not ASCII-compatible must not take the fast path");
+    }
+
+    @Test
+    @DisplayName("known charsets resolve to the shared instances")
+    void knownCharsets_shared() {
+        assertSame(NodelistCharset.CP437, NodelistCharset.of(Charset.forName("IBM437")));
+        assertSame(NodelistCharset.CP866, NodelistCharset.of(Charset.forName("cp866")));
+        assertSame(NodelistCharset.CP437, NodelistCharset.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("CP866 segment is decoded with the requested charset, independent of the platform")
+    void parseCp866Segment() throws IOException {
+        byte[] bytes = "Zone,2,Z,S,S,P,300\nHost,5020,Москва,Moscow,Sysop,P,300\n".getBytes(Charset.forName("IBM866"));
+
+        List<NodelistEntry> cp866 = NodelistParser.parseNodelist(new ByteArrayInputStream(bytes), Charset.forName("IBM866"));
+        List<NodelistEntry> cp437 = NodelistParser.parseNodelist(new ByteArrayInputStream(bytes));
+
+        assertEquals("Москва", cp866.get(1).nodeName());
+        String misread = new String("Москва".getBytes(Charset.forName("IBM866")), Charset.forName("IBM437"));
+        assertEquals(misread, cp437.get(1).nodeName(), "Default charset is CP437, not the platform charset");
+    }
+}
@@ -9,6 +9,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -473,4 +474,91 @@ class NodelistParserTest {
         assertEquals(1, entries.get(4).zone());
         assertEquals(20, entries.get(4).network());
     }
+
+    @Test
+    @DisplayName("segment entries before any Zone line are placed in the given zone")
+    void parseSegment_usesGivenZone() throws IOException {
+        String input = "Host,5020,Moscow,S,S,P,300\n"
+                     + "Pvt,1,N1,S,S,P,300\n"
+                     + "Zone,3,Z,S,S,P,300\n"
+                     + "Pvt,2,N2,S,S,P,300\n";
+        InputStream is = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        List<NodelistEntry> entries = NodelistParser.parseSegment(is, NodelistCharset.DEFAULT, 2);
+
+        assertEquals(4, entries.size());
+        assertEquals(2, entries.get(0).zone());
+        assertEquals(5020, entries.get(1).network());
+        assertEquals(2, entries.get(1).zone());
+        assertEquals(3, entries.get(3).zone(), "The segment's own Zone line takes over");
+    }
+
+    // ─── Projection ────────────────────────────────────────────────────
+
+    private static NodelistEntry withoutText(NodelistEntry e) {
+        return new NodelistEntry(e.zone(), e.network(), e.node(), e.keywords(),
+                null, null, null, null, null, e.flags());
+    }
+
+    @Test
+    @DisplayName("flags-only projection keeps addresses, keywords and flags of the real nodelist")
+    void parseNodelist_flagsOnly_matchesFullParse() throws IOException {
+        byte[] bytes;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            bytes = is.readAllBytes();
+        }
+        List<NodelistEntry> full = NodelistParser.parseNodelist(new ByteArrayInputStream(bytes));
+
+        List<NodelistEntry> projected = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(bytes), NodelistCharset.DEFAULT, EntryField.FLAGS_ONLY);
+
+        assertEquals(full.stream().map(NodelistParserTest::withoutText).toList(), projected);
+    }
+
+    @Test
+    @DisplayName("projection rejects and accepts the same lines as the full parser")
+    void parseNodelist_projection_sameLines() throws IOException {
+        String input = "Zone,2,Z,S,S,P,300\n"
+                     + ",1,Short\n"
+                     + ", 5 ,Spaces,S,S,P, 9600 ,CM\n"
+                     + ",+6,Signed,S,S,P,300,\n"
+                     + ",7,BadBaud,S,S,P,fast,CM\n"
+                     + ",x,BadNode,S,S,P,300\n"
+                     + "Hub,99999999999,Overflow,S,S,P,300\n"
+                     + "Boss,8,Unknown,S,S,P,300,U,ENC\n"
+                     + "   \n"
+                     + "\u001A";
+        List<NodelistEntry> full = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+        List<NodelistEntry> all = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                NodelistCharset.of(StandardCharsets.UTF_8), EntryField.ALL);
+        List<NodelistEntry> flagsOnly = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                NodelistCharset.of(StandardCharsets.UTF_8), EntryField.FLAGS_ONLY);
+
+        assertEquals(4, full.size());
+        assertEquals(full, all);
+        assertEquals(full.stream().map(NodelistParserTest::withoutText).toList(), flagsOnly);
+        assertArrayEquals(new String[]{""}, flagsOnly.get(2).flags(), "Trailing comma gives an empty flag");
+    }
+
+    @Test
+    @DisplayName("projection decodes just the requested text fields")
+    void parseNodelist_projection_selectedFields() throws IOException {
+        String input = "Zone,2,Европа,Город,Сисоп,P,300,CM\n";
+
+        List<NodelistEntry> entries = NodelistParser.parseNodelist(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                NodelistCharset.of(StandardCharsets.UTF_8),
+                EnumSet.of(EntryField.LOCATION, EntryField.BAUD_RATE));
+
+        NodelistEntry entry = entries.getFirst();
+        assertNull(entry.nodeName());
+        assertEquals("Город", entry.location());
+        assertNull(entry.sysOpName());
+        assertNull(entry.phone());
+        assertEquals(300, entry.baudRate());
+        assertNull(entry.flags());
+    }
 }
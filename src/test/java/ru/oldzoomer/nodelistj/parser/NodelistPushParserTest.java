@@ -0,0 +1,110 @@
+package ru.oldzoomer.nodelistj.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistPushParser}.
+ */
+class NodelistPushParserTest {
+
+    private static List<NodelistEntry> push(byte[] bytes, int chunkSize) {
+        List<NodelistEntry> entries = new ArrayList<>();
+        NodelistPushParser parser = new NodelistPushParser(entries::add, StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+        }
+        parser.finish();
+        return entries;
+    }
+
+    @Test
+    @DisplayName("real nodelist fed in small chunks matches the blocking parser")
+    void realNodelist_matchesBlockingParser() throws IOException {
+        byte[] bytes;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            bytes = is.readAllBytes();
+        }
+        List<NodelistEntry> expected = NodelistParser.parseNodelist(new ByteArrayInputStream(bytes));
+
+        for (int chunkSize : new int[]{1, 7, 4096, bytes.length}) {
+            assertEquals(expected, push(bytes, chunkSize), "Chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("entries are emitted as soon as their line is complete")
+    void entriesEmittedPerLine() {
+        List<NodelistEntry> entries = new ArrayList<>();
+        NodelistPushParser parser = new NodelistPushParser(entries::add, StandardCharsets.UTF_8);
+
+        parser.feed(ByteBuffer.wrap("Zone,1,Z,S,S,P,300\r".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, entries.size());
+
+        parser.feed(ByteBuffer.wrap("\n,5,Node,City,Sy".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, entries.size(), "Incomplete line must not be emitted");
+
+        parser.feed(ByteBuffer.wrap("sop,P,300\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(1).zone(), "Context is kept between calls");
+        assertEquals("Sysop", entries.get(1).sysOpName());
+    }
+
+    @Test
+    @DisplayName("finish emits a last line without terminator, and feed afterwards fails")
+    void finish_emitsLastLine() {
+        List<NodelistEntry> entries = new ArrayList<>();
+        NodelistPushParser parser = new NodelistPushParser(entries::add);
+
+        ByteBuffer buffer = ByteBuffer.wrap("Zone,1,Z,S,S,P,300".getBytes(StandardCharsets.US_ASCII));
+        parser.feed(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertTrue(entries.isEmpty());
+
+        parser.finish();
+        assertEquals(1, entries.size());
+        assertThrows(IllegalStateException.class, () -> parser.feed(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    @DisplayName("multi-byte characters split across buffers are decoded correctly")
+    void multiByteCharacterAcrossBuffers() {
+        byte[] bytes = "Zone,2,Москва,City,Sysop,P,300\n".getBytes(StandardCharsets.UTF_8);
+
+        List<NodelistEntry> entries = push(bytes, 8);
+
+        assertEquals("Москва", entries.get(0).nodeName());
+    }
+
+    @Test
+    @DisplayName("line parser reports numbered lines including rejected ones")
+    void forLines_reportsLineNumbers() {
+        List<NodelistLine> lines = new ArrayList<>();
+        NodelistPushParser parser = NodelistPushParser.forLines(lines::add, NodelistCharset.DEFAULT);
+
+        parser.feed(ByteBuffer.wrap(";A comment\r\nZone,1,Z,S,S,P,300\r\n\r\n,5,Node\r\n,6,N,C,S,P,300\r\n\u001A"
+                .getBytes(StandardCharsets.US_ASCII)));
+        parser.finish();
+
+        assertEquals(3, lines.size());
+        assertEquals(2, lines.get(0).number());
+        assertEquals(1, lines.get(0).entry().zone());
+        assertEquals(4, lines.get(1).number());
+        assertEquals(",5,Node", lines.get(1).text());
+        assertArrayEquals(new String[]{"", "5", "Node"}, lines.get(1).fields());
+        assertNull(lines.get(1).entry(), "Short line is rejected by the parser");
+        assertEquals(5, lines.get(2).number());
+        assertEquals(6, lines.get(2).entry().node());
+    }
+}
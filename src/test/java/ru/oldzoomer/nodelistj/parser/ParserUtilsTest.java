@@ -33,6 +33,11 @@ class ParserUtilsTest {
         assertFalse(ParserUtils.shouldSkipLine("Host,102,SoCalNet,LA,Lee,Phone,300"));
     }
 
+    @Test
+    void shouldSkipLine_eofMarker_returnsTrue() {
+        assertTrue(ParserUtils.shouldSkipLine("\u001A"));
+    }
+
     @Test
     void shouldSkipLine_lineStartingWithComma_returnsFalse() {
         // Line starting with comma is not a comment — it needs preprocessing
@@ -0,0 +1,203 @@
+package ru.oldzoomer.nodelistj.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.AddressKey;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RoutingTable}.
+ */
+class RoutingTableTest {
+
+    private static final String INPUT = "Zone,2,Europe,City,Sysop,P,300\n"
+            + "Host,5020,Moscow,City,Sysop,P,300\n"
+            + ",1042,Uplink,City,Sysop,P,300\n"
+            + "Hub,100,Hub,City,Sysop,P,300\n"
+            + ",1,Node,City,Sysop,P,300\n"
+            + ",2,Node,City,Sysop,P,300\n"
+            + "Host,5030,Kaluga,City,Sysop,P,300\n"
+            + ",5,Independent,City,Sysop,P,300\n"
+            + "Hub,200,Hub,City,Sysop,P,300\n"
+            + ",6,Node,City,Sysop,P,300\n"
+            + "Host,5040,Tula,City,Sysop,P,300\n"
+            + ",7,Node,City,Sysop,P,300\n";
+
+    private static final List<String> CONFIG = List.of(
+            "# uplink handles our own net",
+            "route 2:5020/1042 2:5020/*",
+            "route direct Hub 2:5030/*   # hubs of 5030 directly",
+            "route host 2:5040/*",
+            "",
+            "route hub 2:*");
+
+    private static List<NodelistEntry> entries(String input) {
+        return new Nodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))).getNodelist();
+    }
+
+    private static String hop(RoutingTable table, int zone, int network, int node) {
+        long hop = table.nextHop(zone, network, node);
+        return hop == RoutingTable.NO_ROUTE ? null : AddressKey.toString(hop);
+    }
+
+    // ─── Rules ─────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("route statements parse targets, keyword filters and masks")
+    void parse_statements() {
+        List<RouteRule> rules = RouteRule.parseAll(CONFIG);
+
+        assertEquals(4, rules.size());
+        assertEquals(RouteTarget.via(2, 5020, 1042), rules.get(0).target());
+        assertEquals(List.of(new AddressPattern(2, 5020, AddressPattern.ANY)), rules.get(0).patterns());
+        assertEquals(Keywords.HUB, rules.get(1).keyword());
+        assertEquals(RouteTarget.direct(), rules.get(1).target());
+        assertEquals(new AddressPattern(2, AddressPattern.ANY, AddressPattern.ANY), rules.get(3).patterns().getFirst());
+        assertEquals("route direct Hub 2:5030/*", rules.get(1).toString());
+    }
+
+    @Test
+    @DisplayName("malformed route statements are rejected")
+    void parse_invalid_throws() {
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("route direct"));
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("via direct *"));
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("route 2:5020/* *"));
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("route direct 2:5020"));
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("route direct 2:x/*"));
+        assertThrows(IllegalArgumentException.class, () -> RouteRule.parse("route direct Hub"));
+    }
+
+    @Test
+    @DisplayName("targets are parsed and printed independently of the default locale")
+    void parse_turkishLocale() {
+        Locale saved = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            RouteRule rule = RouteRule.parse("route DIRECT 2:5020/*");
+
+            assertEquals(RouteTarget.direct(), rule.target());
+            assertEquals("route direct 2:5020/*", rule.toString());
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    // ─── Routing ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("each listed address is routed by the first matching rule")
+    void nextHop_firstMatchingRule() {
+        RoutingTable table = RoutingTable.compile(RouteRule.parseAll(CONFIG), entries(INPUT));
+
+        assertEquals("2:5020/1042", hop(table, 2, 5020, 1));
+        assertEquals("2:5020/1042", hop(table, 2, 5020, 100));
+        assertEquals("2:5030/200", hop(table, 2, 5030, 200), "Hubs of 5030 go direct");
+        assertEquals("2:5030/200", hop(table, 2, 5030, 6), "Nodes go via their hub");
+        assertEquals("2:5030/0", hop(table, 2, 5030, 5), "Nodes listed before any hub go via the host");
+        assertEquals("2:5040/0", hop(table, 2, 5040, 7));
+        assertEquals("2:2/0", hop(table, 2, 2, 0));
+        assertEquals(12, table.size());
+    }
+
+    @Test
+    @DisplayName("unlisted addresses are matched against the rules as plain nodes")
+    void nextHop_unlisted() {
+        RoutingTable table = RoutingTable.compile(RouteRule.parseAll(CONFIG), entries(INPUT));
+
+        assertEquals("2:5020/1042", hop(table, 2, 5020, 9999));
+        assertEquals("2:463/0", hop(table, 2, 463, 1), "Hub routing falls back to the host");
+        assertNull(hop(table, 1, 1, 1), "No rule covers zone 1");
+    }
+
+    @Test
+    @DisplayName("components out of address range have no route")
+    void nextHop_outOfRange() {
+        RoutingTable table = RoutingTable.compile(RouteRule.parseAll(CONFIG), entries(INPUT));
+
+        assertNull(hop(table, 2, -1, 1));
+        assertNull(hop(table, 2, 5020, 70000));
+        assertNull(hop(table, 100000, 5020, 1));
+    }
+
+    @Test
+    @DisplayName("the compiled table agrees with evaluating the rules in order")
+    void nextHop_matchesLinearEvaluation() throws Exception {
+        List<NodelistEntry> entries;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            entries = new Nodelist(is).getNodelist();
+        }
+        List<RouteRule> rules = RouteRule.parseAll(List.of(
+                "route direct Host *",
+                "route direct Region *",
+                "route 2:5020/1042 2:5020/* 2:5030/*",
+                "route host 2:*",
+                "route 1:1/0 1:*/* 3:*",
+                "route direct *"));
+
+        RoutingTable table = RoutingTable.compile(rules, entries);
+
+        for (NodelistEntry entry : entries) {
+            RouteRule first = rules.stream()
+                    .filter(r -> r.keyword() == null || r.keyword() == entry.keywords())
+                    .filter(r -> r.patterns().stream().anyMatch(p -> p.matches(entry.zone(), entry.network(), entry.node())))
+                    .findFirst().orElseThrow();
+            long expected = switch (first.target().kind()) {
+                case DIRECT -> AddressKey.of(entry);
+                case HOST -> AddressKey.of(entry.zone(), entry.network(), 0);
+                case VIA -> first.target().address();
+                case HUB -> throw new AssertionError();
+            };
+            long key = AddressKey.of(entry);
+            if (table.nextHop(key) != expected) {
+                // a duplicate address is routed by its first entry
+                assertTrue(entries.stream().filter(e -> AddressKey.of(e) == key).count() > 1, entry.toString());
+            }
+        }
+    }
+
+    // ─── Recompilation ─────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("recompile reuses unchanged nets and resolves changed ones")
+    void recompile_reusesUnchangedNets() {
+        RoutingTable table = RoutingTable.compile(RouteRule.parseAll(CONFIG), entries(INPUT));
+
+        String reloaded = INPUT.replace("Hub,200,Hub", ",200,Demoted").replace("Tula", "Renamed");
+        RoutingTable next = table.recompile(entries(reloaded));
+
+        assertEquals(3, next.reusedNets(), "Zone 2, net 5020 and the renamed net 5040 are unchanged");
+        assertEquals("2:5030/0", hop(next, 2, 5030, 6), "The demoted hub no longer collects net 5030");
+        assertEquals("2:5030/200", hop(table, 2, 5030, 6), "The previous table is unchanged");
+        assertEquals("2:5040/0", hop(next, 2, 5040, 7));
+        assertEquals(table.rules(), next.rules());
+    }
+
+    @Test
+    @DisplayName("recompile drops removed nets")
+    void recompile_removedNet() {
+        RoutingTable table = RoutingTable.compile(RouteRule.parseAll(CONFIG), entries(INPUT));
+
+        RoutingTable next = table.recompile(entries(INPUT.substring(0, INPUT.indexOf("Host,5040"))));
+
+        assertEquals(10, next.size());
+        assertEquals("2:5040/0", hop(next, 2, 5040, 7), "Unlisted nodes still follow the rules");
+    }
+
+    @Test
+    @DisplayName("null arguments are rejected")
+    void nullArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(), (List<NodelistEntry>) null));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(List.of(), (Nodelist) null));
+    }
+}
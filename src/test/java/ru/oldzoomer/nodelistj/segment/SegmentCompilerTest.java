@@ -0,0 +1,152 @@
+package ru.oldzoomer.nodelistj.segment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+import ru.oldzoomer.nodelistj.writer.Crc16;
+import ru.oldzoomer.nodelistj.writer.NodelistTextWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SegmentCompiler}.
+ */
+class SegmentCompilerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 1);
+
+    @TempDir
+    Path dir;
+
+    private Path segment(String name, String... lines) throws IOException {
+        Path path = dir.resolve(name);
+        Files.writeString(path, ";S " + name + "\r\n" + String.join("\r\n", lines) + "\r\n", StandardCharsets.US_ASCII);
+        return path;
+    }
+
+    private SegmentCompiler.Result compile(Path out, SegmentCompiler.Segment... segments) throws IOException {
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return new SegmentCompiler().compile(List.of(segments), channel, NodelistTextWriter.DEFAULT_TITLE, DATE);
+        }
+    }
+
+    private static List<NodelistEntry> read(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return NodelistParser.parseSegment(is, NodelistCharset.DEFAULT, 2);
+        }
+    }
+
+    private static List<String> addresses(List<NodelistEntry> entries) {
+        return entries.stream()
+                .map(e -> (e.keywords() == null ? "" : e.keywords() + " ") + e.zone() + ":" + e.network() + "/" + e.node())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("segments are merged in address order under their zone and region")
+    void compile_mergesInAddressOrder() throws IOException {
+        Path net5030 = segment("NET5030", "Host,5030,Net,City,Sysop,P,300", ",1,Node,City,Sysop,P,300");
+        Path region = segment("REGION50", "Region,50,Russia,City,Sysop,P,300", ",5,Independent,City,Sysop,P,300",
+                "Host,5010,Net,City,Sysop,P,300");
+        Path net5020 = segment("NET5020", "Host,5020,Moscow,City,Sysop,P,300",
+                "Hub,100,Hub,City,Sysop,P,300", ",2,Node,City,Sysop,P,300", ",1,Node,City,Sysop,P,300");
+        Path zone = segment("ZONE2", "Zone,2,Europe,City,Sysop,P,300", ",1,ZC,City,Sysop,P,300",
+                "Region,40,Iberia,City,Sysop,P,300");
+        Path direct = segment("NET2", "Host,200,Direct,City,Sysop,P,300");
+        Path out = dir.resolve("NODELIST.121");
+
+        SegmentCompiler.Result result = compile(out,
+                new SegmentCompiler.Segment(net5030, 2, 50),
+                new SegmentCompiler.Segment(region, 2, 0),
+                new SegmentCompiler.Segment(net5020, 2, 50),
+                new SegmentCompiler.Segment(zone, 2, 0),
+                new SegmentCompiler.Segment(direct, 2, 0));
+
+        List<NodelistEntry> entries = read(out);
+        assertEquals(List.of(
+                "Zone 2:2/0", "2:2/1",
+                "Host 2:200/0",
+                "Region 2:40/0",
+                "Region 2:50/0", "2:50/5",
+                "Host 2:5010/0",
+                "Host 2:5020/0", "Hub 2:5020/100", "2:5020/2", "2:5020/1",
+                "Host 2:5030/0", "2:5030/1"), addresses(entries));
+        assertEquals(entries.size(), result.entryCount());
+        assertEquals(List.of(), result.overlaps());
+    }
+
+    @Test
+    @DisplayName("the header carries the CRC of the compiled text")
+    void compile_writesHeaderAndCrc() throws IOException {
+        Path zone = segment("ZONE2", "Zone,2,Europe,City,Sysop,P,300", ",1,ZC,City,Sysop,P,300,CM");
+        Path out = dir.resolve("NODELIST.121");
+
+        SegmentCompiler.Result result = compile(out, new SegmentCompiler.Segment(zone, 2, 0));
+
+        byte[] bytes = Files.readAllBytes(out);
+        String header = NodelistTextWriter.headerLine(NodelistTextWriter.DEFAULT_TITLE, DATE, result.crc());
+        assertEquals(header, new String(bytes, 0, header.length(), StandardCharsets.US_ASCII));
+        assertEquals(0x1A, bytes[bytes.length - 1]);
+
+        Crc16 crc = new Crc16();
+        crc.update(bytes, header.length(), bytes.length - header.length() - 1);
+        assertEquals(crc.getValue(), result.crc());
+    }
+
+    @Test
+    @DisplayName("a net supplied twice is taken from the first segment and reported")
+    void compile_reportsOverlaps() throws IOException {
+        Path region = segment("REGION50", "Region,50,Russia,City,Sysop,P,300", "Host,5020,Old,City,Sysop,P,300",
+                ",1,Old,City,Sysop,P,300");
+        Path net5020 = segment("NET5020", "Host,5020,New,City,Sysop,P,300", ",2,New,City,Sysop,P,300");
+        Path out = dir.resolve("NODELIST.121");
+
+        SegmentCompiler.Result result = compile(out,
+                new SegmentCompiler.Segment(region, 2, 0),
+                new SegmentCompiler.Segment(net5020, 2, 50));
+
+        assertEquals(List.of(new SegmentCompiler.Overlap("Host 2:5020", region, net5020)), result.overlaps());
+        List<NodelistEntry> entries = read(out);
+        assertEquals(3, entries.size());
+        assertEquals("Old", entries.get(2).nodeName());
+    }
+
+    @Test
+    @DisplayName("a segment without a leading Zone, Region or Host line is rejected")
+    void compile_segmentWithoutHeader_throws() throws IOException {
+        Path nodes = segment("NODES", ",1,Node,City,Sysop,P,300");
+        Path out = dir.resolve("NODELIST.121");
+
+        assertThrows(IllegalArgumentException.class, () -> compile(out, new SegmentCompiler.Segment(nodes, 2, 50)));
+    }
+
+    @Test
+    @DisplayName("comments and malformed lines are reported with their segment and line number")
+    void compile_reportsSkippedLines() throws IOException {
+        Path net5020 = segment("NET5020", "Host,5020,Moscow,City,Sysop,P,300", ";A Net notice",
+                ",x,Broken,City,Sysop,P,300", ",1,Node,City,Sysop,P,300");
+        Path out = dir.resolve("NODELIST.121");
+
+        SegmentCompiler.Result result = compile(out, new SegmentCompiler.Segment(net5020, 2, 50));
+
+        assertEquals(List.of(
+                new SegmentCompiler.SkippedLine(net5020, 1, ";S NET5020"),
+                new SegmentCompiler.SkippedLine(net5020, 3, ";A Net notice"),
+                new SegmentCompiler.SkippedLine(net5020, 4, ",x,Broken,City,Sysop,P,300")), result.skipped());
+        assertEquals(2, result.entryCount());
+    }
+}
@@ -0,0 +1,203 @@
+package ru.oldzoomer.nodelistj.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.Nodelist;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistServer}.
+ */
+class NodelistServerTest {
+
+    private static final String INPUT = "Zone,2,Europe,City,Sysop,P,300,CM\n"
+            + "Host,5020,Moscow,Moscow,Host_Sysop,P,300,CM,IBN:24555\n"
+            + ",1042,Station,Moscow,Ivan_Petrov,P,9600,IBN,ITN\n"
+            + ",1043,Other,Kaluga,Petr_Ivanov,P,300,MO\n";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private NodelistServer server;
+
+    private static Nodelist nodelist(String input) {
+        return new Nodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:"
+                + server.address().getPort() + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return get(path, null);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NodelistServer(nodelist(INPUT), new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    // ─── Queries ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("lookup by address returns the entry as JSON")
+    void lookup_found() throws Exception {
+        HttpResponse<String> response = get("/node/2:5020/1042");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertTrue(response.body().startsWith("[{\"zone\":2,\"network\":5020,\"node\":1042,"), response.body());
+        assertTrue(response.body().contains("\"nodeName\":\"Station\""));
+    }
+
+    @Test
+    @DisplayName("unknown and malformed addresses are 404 and 400")
+    void lookup_errors() throws Exception {
+        assertEquals(404, get("/node/2:5020/9999").statusCode());
+        assertEquals(400, get("/node/2-5020-1042").statusCode());
+    }
+
+    @Test
+    @DisplayName("search matches names and locations ignoring case and underscores")
+    void search() throws Exception {
+        HttpResponse<String> response = get("/search?q=ivan%20petrov");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"node\":1042"), response.body());
+        assertFalse(response.body().contains("\"node\":1043"));
+
+        assertEquals(2, get("/search?q=MOSCOW&limit=10").body().split("\"zone\"").length - 1);
+        assertEquals(1, get("/search?q=moscow&limit=1").body().split("\"zone\"").length - 1);
+        assertEquals(400, get("/search").statusCode());
+        assertEquals(400, get("/search?q=x&limit=none").statusCode());
+    }
+
+    @Test
+    @DisplayName("missing fields do not match a search for \"null\"")
+    void search_missingFields() throws Exception {
+        server.reload(new Nodelist(List.of(
+                new NodelistEntry(2, 5020, 1044, null, null, null, null, null, 300, null))));
+
+        assertEquals("[]", get("/search?q=null").body());
+    }
+
+    @Test
+    @DisplayName("flag query matches flags with and without values")
+    void flag() throws Exception {
+        String body = get("/flag/IBN").body();
+
+        assertTrue(body.contains("\"node\":0"), body);
+        assertTrue(body.contains("\"node\":1042"));
+        assertFalse(body.contains("\"node\":1043"));
+        assertEquals("[]", get("/flag/IB").body(), "Flag names are matched exactly");
+    }
+
+    @Test
+    @DisplayName("only GET and HEAD are allowed")
+    void post_notAllowed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.address().getPort()
+                + "/node/2:5020/1042")).POST(HttpRequest.BodyPublishers.noBody()).build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(405, response.statusCode());
+        assertEquals("GET, HEAD", response.headers().firstValue("Allow").orElseThrow());
+    }
+
+    // ─── Caching ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("a matching If-None-Match gets 304 without a body")
+    void etag_notModified() throws Exception {
+        HttpResponse<String> first = get("/node/2:5020/1042");
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> second = get("/node/2:5020/1042", etag);
+
+        assertEquals(304, second.statusCode());
+        assertEquals("", second.body());
+        assertEquals(200, get("/node/2:5020/1042", "\"other\"").statusCode());
+    }
+
+    @Test
+    @DisplayName("reload serves the new nodelist and changes ETags")
+    void reload_invalidatesCache() throws Exception {
+        HttpResponse<String> before = get("/node/2:5020/1042");
+        String etag = before.headers().firstValue("ETag").orElseThrow();
+
+        server.reload(nodelist(INPUT.replace("Station", "Renamed")));
+        HttpResponse<String> after = get("/node/2:5020/1042", etag);
+
+        assertEquals(200, after.statusCode());
+        assertTrue(after.body().contains("\"nodeName\":\"Renamed\""), after.body());
+        assertNotEquals(etag, after.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("caching can be disabled")
+    void cacheDisabled() throws Exception {
+        server.close();
+        server = new NodelistServer(nodelist(INPUT), new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+
+        HttpResponse<String> first = get("/node/2:5020/1042");
+        HttpResponse<String> second = get("/node/2:5020/1042", first.headers().firstValue("ETag").orElseThrow());
+
+        assertEquals(304, second.statusCode(), "ETags stay stable without the cache");
+    }
+
+    @Test
+    @DisplayName("error responses are neither cached nor tagged")
+    void errors_notCached() throws Exception {
+        HttpResponse<String> missing = get("/node/2:5020/9999");
+        HttpResponse<String> invalid = get("/search?q=x&limit=none");
+
+        assertEquals(404, missing.statusCode());
+        assertTrue(missing.headers().firstValue("ETag").isEmpty());
+        assertTrue(invalid.headers().firstValue("ETag").isEmpty());
+        assertEquals(0, server.cachedResponses());
+
+        get("/node/2:5020/1042");
+        assertEquals(1, server.cachedResponses());
+    }
+
+    @Test
+    @DisplayName("the cache holds at most its configured number of responses")
+    void cache_bounded() throws Exception {
+        server.close();
+        server = new NodelistServer(nodelist(INPUT), new InetSocketAddress("127.0.0.1", 0), 2);
+        server.start();
+
+        get("/node/2:5020/1042");
+        get("/node/2:5020/1043");
+        get("/node/2:5020/0");
+        HttpResponse<String> again = get("/node/2:5020/1042");
+
+        assertEquals(2, server.cachedResponses());
+        assertEquals(200, again.statusCode());
+        assertTrue(again.body().contains("\"node\":1042"), again.body());
+    }
+}
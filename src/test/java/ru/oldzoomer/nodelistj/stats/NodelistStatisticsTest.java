@@ -0,0 +1,136 @@
+package ru.oldzoomer.nodelistj.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistStatistics}.
+ */
+class NodelistStatisticsTest {
+
+    private static final String INPUT = "Zone,2,Europe,City,Sysop,P,300,CM\n"
+            + ",2,ZC_Node,City,Sysop,P,9600,CM,IBN\n"
+            + "Region,50,Russia,City,Sysop,P,300\n"
+            + "Host,5020,Moscow,City,Sysop,P,300,CM,IBN:24555\n"
+            + "Hub,100,Hub,City,Sysop,P,300\n"
+            + ",1042,Node,City,Sysop,P,9600,IBN,ITN\n"
+            + "Pvt,1043,Node,City,Sysop,-Unpublished-,300\n"
+            + "Hold,1044,Node,City,Sysop,P,300\n"
+            + "Down,1045,Node,City,Sysop,P,300\n";
+
+    private static List<NodelistEntry> parse(String input) throws IOException {
+        return NodelistParser.parseNodelist(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("all statistics are collected in one pass")
+    void compute_allStatistics() throws IOException {
+        NodelistStatistics stats = NodelistStatistics.compute(parse(INPUT), EnumSet.allOf(Statistic.class));
+
+        assertEquals(9, stats.total());
+        assertEquals(1, stats.keywordCount(Keywords.PVT));
+        assertEquals(1, stats.keywordCount(Keywords.HOLD));
+        assertEquals(1, stats.keywordCount(Keywords.DOWN));
+        assertEquals(2, stats.keywordCount(null));
+
+        assertEquals(9, stats.zoneCount(2));
+        assertEquals(7, stats.regionCount(2, 50));
+        assertEquals(0, stats.regionCount(2, 2), "Entries directly under the zone have no region");
+        assertEquals(2, stats.netCount(2, 2));
+        assertEquals(6, stats.netCount(2, 5020));
+
+        assertEquals(3, stats.flagCount("IBN"), "Flag values are ignored");
+        assertEquals(3, stats.flagCount("CM"));
+        assertEquals(0, stats.flagCount("XA"));
+        assertEquals(7, stats.baudRateCount(300));
+        assertEquals(2, stats.baudRateCount(9600));
+
+        assertEquals(Map.of(300, 7L, 9600, 2L), stats.baudRateCounts());
+        assertEquals(List.of("2:2", "2:50", "2:5020"), new ArrayList<>(stats.netCounts().keySet()));
+    }
+
+    @Test
+    @DisplayName("statistics that were not requested cannot be read")
+    void compute_onlyRequested() throws IOException {
+        NodelistStatistics stats = NodelistStatistics.compute(parse(INPUT), EnumSet.of(Statistic.FLAGS));
+
+        assertEquals(3, stats.flagCount("IBN"));
+        assertThrows(IllegalStateException.class, () -> stats.zoneCount(2));
+        assertThrows(IllegalStateException.class, () -> stats.keywordCount(Keywords.PVT));
+    }
+
+    @Test
+    @DisplayName("a flag repeated within one entry counts the entry once")
+    void compute_repeatedFlag_countedOncePerEntry() throws IOException {
+        String input = "Zone,2,Europe,City,Sysop,P,300,INA:a.example.org,IBN,INA:b.example.org,IBN:24555\n"
+                     + ",1,Node,City,Sysop,P,300,INA:c.example.org\n";
+
+        NodelistStatistics stats = NodelistStatistics.compute(parse(input), EnumSet.of(Statistic.FLAGS));
+
+        assertEquals(2, stats.flagCount("INA"));
+        assertEquals(1, stats.flagCount("IBN"));
+    }
+
+    @Test
+    @DisplayName("entries without a zone or net number are skipped")
+    void compute_missingAddress_skipped() throws IOException {
+        List<NodelistEntry> entries = new ArrayList<>(parse(INPUT));
+        entries.add(new NodelistEntry(null, null, 1046, null, "Node", "City", "Sysop", "P", 300, null));
+        entries.add(new NodelistEntry(2, null, 0, Keywords.REGION, "Region", "City", "Sysop", "P", 300, null));
+
+        NodelistStatistics stats = NodelistStatistics.compute(entries, EnumSet.allOf(Statistic.class));
+
+        assertEquals(9, stats.total());
+        assertEquals(7, stats.regionCount(2, 50));
+    }
+
+    @Test
+    @DisplayName("merging partial results equals computing the whole list")
+    void merge_matchesWholeList() throws IOException {
+        List<NodelistEntry> entries = parse(INPUT);
+        EnumSet<Statistic> all = EnumSet.allOf(Statistic.class);
+
+        NodelistStatistics whole = NodelistStatistics.compute(entries, all);
+        NodelistStatistics merged = NodelistStatistics.compute(entries.subList(0, 2), all)
+                .merge(NodelistStatistics.compute(entries.subList(2, entries.size()), all));
+
+        assertEquals(whole.total(), merged.total());
+        assertEquals(whole.flagCounts(), merged.flagCounts());
+        assertEquals(whole.regionCounts(), merged.regionCounts());
+        assertEquals(whole.netCounts(), merged.netCounts());
+        assertThrows(IllegalArgumentException.class,
+                () -> merged.merge(new NodelistStatistics(EnumSet.of(Statistic.ZONES))));
+    }
+
+    @Test
+    @DisplayName("real nodelist — parallel result matches a sequential count")
+    void realNodelist_matchesSequentialCount() throws IOException {
+        List<NodelistEntry> entries;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            entries = NodelistParser.parseNodelist(is);
+        }
+
+        NodelistStatistics stats = NodelistStatistics.compute(entries, EnumSet.allOf(Statistic.class));
+
+        long pvt = entries.stream().filter(e -> e.keywords() == Keywords.PVT).count();
+        long zone2 = entries.stream().filter(e -> e.zone() == 2).count();
+        assertEquals(entries.size(), stats.total());
+        assertEquals(pvt, stats.keywordCount(Keywords.PVT));
+        assertEquals(zone2, stats.zoneCount(2));
+        assertEquals(entries.size(), stats.zoneCounts().values().stream().mapToLong(Long::longValue).sum());
+    }
+}
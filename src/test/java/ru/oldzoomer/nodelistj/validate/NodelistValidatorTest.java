@@ -0,0 +1,254 @@
+package ru.oldzoomer.nodelistj.validate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.oldzoomer.nodelistj.parser.NodelistCharset;
+import ru.oldzoomer.nodelistj.parser.NodelistLine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistValidator}.
+ */
+class NodelistValidatorTest {
+
+    private static final String VALID = ";A Test nodelist\r\n"
+            + "Zone,2,Europe,City,Sysop,P,300,CM\r\n"
+            + "Region,50,Russia,City,Sysop,P,300\r\n"
+            + "Host,5020,Moscow,City,Sysop,P,300,CM,IBN:24555\r\n"
+            + "Hub,100,Hub,City,Sysop,P,300\r\n"
+            + ",1042,Node,City,Sysop,P,9600,IBN,ITN,U,ENC\r\n"
+            + "Pvt,1043,Node,City,Sysop,-Unpublished-,300,TAX\r\n"
+            + "\u001A";
+
+    private static ValidationReport validate(String input) throws IOException {
+        return new NodelistValidator().validate(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                NodelistCharset.of(StandardCharsets.UTF_8));
+    }
+
+    private static ValidationIssue single(ValidationReport report, String rule) {
+        List<ValidationIssue> issues = report.issues().stream().filter(issue -> issue.rule().equals(rule)).toList();
+        assertEquals(1, issues.size(), () -> "Issues of " + rule + ": " + report.issues());
+        return issues.getFirst();
+    }
+
+    // ─── Standard rules ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("a well-formed nodelist passes without issues")
+    void validNodelist_noIssues() throws IOException {
+        ValidationReport report = validate(VALID);
+
+        assertTrue(report.isValid());
+        assertEquals(List.of(), report.issues());
+        assertEquals(6, report.lineCount(), "Comments and the EOF marker are not counted");
+    }
+
+    @Test
+    @DisplayName("duplicate nodes and nets are reported with the line of the first occurrence")
+    void duplicateAddress() throws IOException {
+        ValidationReport report = validate(VALID
+                .replace("\u001A", ",1042,Again,City,Sysop,P,300\r\nHost,5020,Moscow,City,Sysop,P,300\r\n"));
+
+        List<ValidationIssue> errors = report.issues(ValidationIssue.Severity.ERROR);
+        assertEquals(2, errors.size(), errors::toString);
+        assertEquals(8, errors.get(0).line());
+        assertEquals("Duplicate address 2:5020/1042, first listed on line 6", errors.get(0).message());
+        assertEquals(9, errors.get(1).line());
+        assertEquals("DUPLICATE_ADDRESS", errors.get(1).rule());
+        assertTrue(errors.get(1).message().endsWith("first listed on line 4"));
+    }
+
+    @Test
+    @DisplayName("a hub directly followed by another hub has no members")
+    void hubWithoutMembers() throws IOException {
+        ValidationReport report = validate(VALID.replace("Hub,100", "Hub,50,Empty,City,Sysop,P,300\r\nHub,100"));
+
+        ValidationIssue issue = single(report, "HUB_WITHOUT_MEMBERS");
+        assertEquals(5, issue.line());
+        assertEquals(ValidationIssue.Severity.WARNING, issue.severity());
+        assertTrue(report.isValid(), "Warnings do not invalidate the nodelist");
+    }
+
+    @Test
+    @DisplayName("numbers with surrounding spaces are accepted as the parser accepts them")
+    void numbers_whitespaceAccepted() throws IOException {
+        ValidationReport report = validate(VALID.replace("P,9600", "P, 9600 ").replace(",1042,", ", 1042,"));
+
+        assertEquals(List.of(), report.issues());
+    }
+
+    @Test
+    @DisplayName("only assigned gateway flags are known")
+    void flags_gateway() throws IOException {
+        ValidationReport report = validate(VALID.replace("IBN,ITN,U,ENC", "IBN,GUUCP,GFOO"));
+
+        ValidationIssue issue = single(report, "FLAGS");
+        assertEquals("Unknown flag 'GFOO'", issue.message());
+    }
+
+    @Test
+    @DisplayName("empty flags are errors, unknown flags before U are warnings")
+    void flags() throws IOException {
+        ValidationReport report = validate(VALID.replace("IBN,ITN,U,ENC", "IBN,,FOO,U,BAR"));
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(2, issues.size(), issues::toString);
+        assertEquals("Empty flag", issues.get(0).message());
+        assertEquals(ValidationIssue.Severity.ERROR, issues.get(0).severity());
+        assertEquals("Unknown flag 'FOO'", issues.get(1).message());
+        assertEquals(ValidationIssue.Severity.WARNING, issues.get(1).severity());
+        assertEquals(6, issues.get(1).line());
+    }
+
+    @Test
+    @DisplayName("a non-numeric baud rate is an error")
+    void baudRate_notNumeric() throws IOException {
+        ValidationReport report = validate(VALID.replace("P,9600", "P,fast"));
+
+        ValidationIssue issue = single(report, "BAUD_RATE");
+        assertEquals(6, issue.line());
+        assertEquals("Baud rate 'fast' is not a number", issue.message());
+    }
+
+    @Test
+    @DisplayName("spaces, empty fields and overlong lines are reported")
+    void fieldLength() throws IOException {
+        String longLocation = "L".repeat(StandardRule.MAX_LOCATION_LENGTH);
+        String longFlags = ",XA".repeat(StandardRule.MAX_LINE_LENGTH / 3);
+        ValidationReport report = validate(VALID
+                .replace(",1042,Node,City", ",1042,Node," + longLocation)
+                .replace("U,ENC", "U,ENC" + longFlags)
+                .replace("Hub,City,Sysop", "Hub,,Sys op"));
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(3, issues.size(), issues::toString);
+        assertEquals("Empty location field", issues.get(0).message());
+        assertEquals("The sysop name field contains spaces", issues.get(1).message());
+        assertEquals(6, issues.get(2).line());
+        assertEquals(ValidationIssue.Severity.WARNING, issues.get(2).severity());
+    }
+
+    @Test
+    @DisplayName("fields over their length limit are errors")
+    void fieldLength_perFieldLimits() throws IOException {
+        ValidationReport report = validate(VALID
+                .replace(",1042,Node,City,Sysop", ",1042," + "N".repeat(StandardRule.MAX_NAME_LENGTH + 1)
+                        + ",City," + "S".repeat(StandardRule.MAX_SYSOP_LENGTH + 1))
+                .replace("-Unpublished-", "7-".repeat(StandardRule.MAX_PHONE_LENGTH)));
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(3, issues.size(), issues::toString);
+        assertEquals("The system name field is 49 characters long, the limit is 48", issues.get(0).message());
+        assertEquals("The sysop name field is 37 characters long, the limit is 36", issues.get(1).message());
+        assertEquals(7, issues.get(2).line());
+        assertEquals(ValidationIssue.Severity.ERROR, issues.get(2).severity());
+    }
+
+    @Test
+    @DisplayName("short lines and unknown keywords are malformed")
+    void malformedLine() throws IOException {
+        ValidationReport report = validate(VALID.replace("Pvt,1043", "Boss,1043").replace("\u001A", ",1044,Node\r\n"));
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(2, issues.size(), issues::toString);
+        assertEquals("Unknown keyword 'Boss'", issues.get(0).message());
+        assertEquals(8, issues.get(1).line());
+        assertEquals("Expected at least 7 fields, found 3", issues.get(1).message());
+    }
+
+    @Test
+    @DisplayName("entries before the first zone and zones out of order are errors")
+    void ordering() throws IOException {
+        ValidationReport report = validate("Host,5020,Moscow,City,Sysop,P,300\n"
+                + "Zone,2,Europe,City,Sysop,P,300\n"
+                + "Zone,1,America,City,Sysop,P,300\n"
+                + "Region,11,R,City,Sysop,P,300\n"
+                + "Region,10,R,City,Sysop,P,300\n"
+                + "Host,200,N,City,Sysop,P,300\n"
+                + "Host,100,N,City,Sysop,P,300\n");
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(4, issues.size(), issues::toString);
+        assertEquals("Entry before the first Zone line", issues.get(0).message());
+        assertEquals(3, issues.get(1).line());
+        assertEquals("Zone 1 follows zone 2", issues.get(1).message());
+        assertEquals(5, issues.get(2).line());
+        assertEquals(7, issues.get(3).line());
+        assertEquals(ValidationIssue.Severity.WARNING, issues.get(3).severity());
+    }
+
+    @Test
+    @DisplayName("a net segment is validated in the given zone")
+    void segment_duplicateAddress() throws IOException {
+        ValidationReport report = new NodelistValidator().validateSegment(new ByteArrayInputStream((
+                        ";S Net 5020\r\n"
+                        + "Host,5020,Moscow,City,Sysop,P,300,CM\r\n"
+                        + ",1042,Node,City,Sysop,P,300\r\n"
+                        + ",1042,Again,City,Sysop,P,300\r\n").getBytes(StandardCharsets.UTF_8)),
+                NodelistCharset.of(StandardCharsets.UTF_8), 2);
+
+        List<ValidationIssue> issues = report.issues();
+        assertEquals(1, issues.size(), issues::toString);
+        assertEquals(4, issues.getFirst().line());
+        assertEquals("Duplicate address 2:5020/1042, first listed on line 3", issues.getFirst().message());
+        assertThrows(IllegalArgumentException.class, () -> new NodelistValidator().validateSegment(
+                new ByteArrayInputStream(new byte[0]), NodelistCharset.DEFAULT, 0));
+    }
+
+    // ─── Engine ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("custom rules run alongside or instead of the standard ones")
+    void customRule() throws IOException {
+        ValidationRule noDown = new ValidationRule() {
+            @Override
+            public String name() {
+                return "NO_PVT";
+            }
+
+            @Override
+            public void checkBlock(NetBlock block, IssueCollector issues) {
+                for (NodelistLine line : block.lines()) {
+                    if (line.fields()[0].equals("Pvt")) {
+                        issues.error(line, "Private nodes are not allowed in net " + block.zone() + ":" + block.network());
+                    }
+                }
+            }
+        };
+        ValidationReport report = new NodelistValidator(List.of(noDown))
+                .validate(new ByteArrayInputStream(VALID.getBytes(StandardCharsets.US_ASCII)));
+
+        ValidationIssue issue = single(report, "NO_PVT");
+        assertEquals(7, issue.line());
+        assertEquals("Private nodes are not allowed in net 2:5020", issue.message());
+    }
+
+    @Test
+    @DisplayName("real nodelist has no errors and the report is ordered by line")
+    void realNodelist() throws IOException {
+        ValidationReport report;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            report = new NodelistValidator().validate(is);
+        }
+
+        assertTrue(report.isValid(), () -> report.issues(ValidationIssue.Severity.ERROR).toString());
+        assertTrue(report.lineCount() > 1000);
+        List<ValidationIssue> issues = report.issues();
+        for (int i = 1; i < issues.size(); i++) {
+            assertTrue(issues.get(i - 1).line() <= issues.get(i).line());
+        }
+    }
+
+    @Test
+    @DisplayName("null rules are rejected")
+    void nullRules_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new NodelistValidator(null));
+    }
+}
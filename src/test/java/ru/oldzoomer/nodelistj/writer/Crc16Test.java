@@ -0,0 +1,57 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Crc16}.
+ */
+class Crc16Test {
+
+    @Test
+    @DisplayName("standard check value of CRC-16/XMODEM")
+    void checkValue() {
+        Crc16 crc = new Crc16();
+        byte[] bytes = "123456789".getBytes(StandardCharsets.US_ASCII);
+        crc.update(bytes, 0, bytes.length);
+        assertEquals(0x31C3, crc.getValue());
+
+        crc.reset();
+        for (byte b : bytes) {
+            crc.update(b);
+        }
+        assertEquals(0x31C3, crc.getValue());
+
+        crc.reset();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        crc.update(direct, 0, bytes.length);
+        assertEquals(0x31C3, crc.getValue());
+    }
+
+    @Test
+    @DisplayName("real nodelist — CRC of the body matches the ;A header")
+    void realNodelist_matchesHeader() throws IOException {
+        byte[] file;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("nodelist.txt")) {
+            file = is.readAllBytes();
+        }
+        int bodyStart = 0;
+        while (file[bodyStart++] != '\n') {
+            // skip the header line
+        }
+        int bodyEnd = file[file.length - 1] == 0x1A ? file.length - 1 : file.length;
+
+        Crc16 crc = new Crc16();
+        crc.update(file, bodyStart, bodyEnd - bodyStart);
+
+        String header = new String(file, 0, bodyStart, StandardCharsets.US_ASCII);
+        assertTrue(header.endsWith(": " + crc.getValue() + "\r\n"), header);
+    }
+}
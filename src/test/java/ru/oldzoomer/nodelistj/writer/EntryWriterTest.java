@@ -0,0 +1,164 @@
+package ru.oldzoomer.nodelistj.writer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.oldzoomer.nodelistj.entries.NodelistEntry;
+import ru.oldzoomer.nodelistj.enums.Keywords;
+import ru.oldzoomer.nodelistj.parser.NodelistParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NodelistTextWriter}, {@link CsvWriter} and {@link JsonWriter}.
+ */
+class EntryWriterTest {
+
+    private static final NodelistEntry NODE = new NodelistEntry(2, 5020, 1042, null,
+            "Weather_Station", "Moscow", "Ivan_Petrov", "-Unpublished-", 300,
+            new String[]{"CM", "INA:bbs.weather-station.org", "IBN:24555"});
+
+    @TempDir
+    Path tempDir;
+
+    private static List<NodelistEntry> realNodelist() throws IOException {
+        try (InputStream is = EntryWriterTest.class.getClassLoader().getResourceAsStream("nodelist.txt")) {
+            return NodelistParser.parseNodelist(is);
+        }
+    }
+
+    // ─── Nodelist text ─────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("header line matches the format of published nodelists")
+    void headerLine_format() {
+        assertEquals(";A FidoNet Nodelist for Saturday, March 8, 2025 -- Day number 067 : 62185\r\n",
+                NodelistTextWriter.headerLine("FidoNet Nodelist", LocalDate.of(2025, 3, 8), 62185));
+    }
+
+    @Test
+    @DisplayName("entry lines use the canonical field order and number field")
+    void textLines_canonical() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NodelistTextWriter writer = new NodelistTextWriter(Channels.newChannel(out))) {
+            writer.write(new NodelistEntry(2, 2, 0, Keywords.ZONE, "Europe", "City", "Sysop", "P", 300, new String[0]));
+            writer.write(new NodelistEntry(2, 5020, 0, Keywords.HOST, "Moscow", "City", "Sysop", "P", 300, new String[]{"CM"}));
+            writer.write(NODE);
+        }
+
+        assertEquals("Zone,2,Europe,City,Sysop,P,300\r\n"
+                        + "Host,5020,Moscow,City,Sysop,P,300,CM\r\n"
+                        + ",1042,Weather_Station,Moscow,Ivan_Petrov,-Unpublished-,300,CM,INA:bbs.weather-station.org,IBN:24555\r\n",
+                out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("full file — header CRC covers the body, output parses back to the same entries")
+    void textFile_roundTrip() throws IOException {
+        List<NodelistEntry> entries = realNodelist();
+        Path file = tempDir.resolve("nodelist.067");
+        LocalDate date = LocalDate.of(2025, 3, 8);
+
+        int crc;
+        // a tiny buffer forces many drains and exercises the CRC across buffer boundaries
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             NodelistTextWriter writer = new NodelistTextWriter(channel, NodelistTextWriter.DEFAULT_TITLE, date,
+                     StandardCharsets.US_ASCII, ByteBuffer.allocate(64))) {
+            writer.comment("S Generated");
+            writer.writeAll(entries);
+            writer.close();
+            crc = writer.crc();
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(0x1A, bytes[bytes.length - 1]);
+        String text = new String(bytes, StandardCharsets.US_ASCII);
+        assertTrue(text.startsWith(NodelistTextWriter.headerLine(NodelistTextWriter.DEFAULT_TITLE, date, crc)));
+
+        int bodyStart = text.indexOf('\n') + 1;
+        Crc16 check = new Crc16();
+        check.update(bytes, bodyStart, bytes.length - 1 - bodyStart);
+        assertEquals(check.getValue(), crc);
+
+        List<NodelistEntry> reparsed = NodelistParser.parseNodelist(new ByteArrayInputStream(bytes));
+        assertEquals(entries, reparsed);
+    }
+
+    @Test
+    @DisplayName("writing after close is rejected")
+    void writeAfterClose_throws() throws IOException {
+        NodelistTextWriter writer = new NodelistTextWriter(Channels.newChannel(new ByteArrayOutputStream()));
+        writer.close();
+
+        assertThrows(IllegalStateException.class, () -> writer.write(NODE));
+        assertDoesNotThrow(writer::close);
+    }
+
+    // ─── CSV ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("CSV has a header row and quotes joined flags and special characters")
+    void csv_quoting() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter writer = new CsvWriter(Channels.newChannel(out))) {
+            writer.write(NODE);
+            writer.write(new NodelistEntry(1, 1, 7, Keywords.PVT, "Say \"hi\"", "Köln", "Sysop", "P", 300, new String[]{"XA"}));
+        }
+
+        assertEquals(CsvWriter.HEADER
+                        + "2,5020,1042,,Weather_Station,Moscow,Ivan_Petrov,-Unpublished-,300,"
+                        + "\"CM,INA:bbs.weather-station.org,IBN:24555\"\r\n"
+                        + "1,1,7,Pvt,\"Say \"\"hi\"\"\",Köln,Sysop,P,300,XA\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("CSV with no entries still has the header row")
+    void csv_empty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvWriter(Channels.newChannel(out)).close();
+
+        assertEquals(CsvWriter.HEADER, out.toString(StandardCharsets.UTF_8));
+    }
+
+    // ─── JSON ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("JSON array with escaped strings and nulls")
+    void json_escaping() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(Channels.newChannel(out))) {
+            writer.write(new NodelistEntry(1, 1, 7, Keywords.HUB, "A\"B\\C\u0001", null, "Сисоп", "P", null, new String[]{"XA", "CM"}));
+            writer.write(new NodelistEntry(1, 1, 8, null, "N", "L", "S", "P", 300, new String[0]));
+        }
+
+        assertEquals("[{\"zone\":1,\"network\":1,\"node\":7,\"keyword\":\"Hub\",\"nodeName\":\"A\\\"B\\\\C\\u0001\","
+                        + "\"location\":null,\"sysOpName\":\"Сисоп\",\"phone\":\"P\",\"baudRate\":null,\"flags\":[\"XA\",\"CM\"]},"
+                        + "{\"zone\":1,\"network\":1,\"node\":8,\"keyword\":null,\"nodeName\":\"N\",\"location\":\"L\","
+                        + "\"sysOpName\":\"S\",\"phone\":\"P\",\"baudRate\":300,\"flags\":[]}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("JSON with no entries is an empty array")
+    void json_empty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonWriter(Channels.newChannel(out)).close();
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+}